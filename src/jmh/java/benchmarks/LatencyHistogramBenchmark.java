@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import perf.stats.LatencyHistogram;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LatencyHistogramBenchmark {
+    private static final int VALUES = 1 << 16;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final long[] values = new long[VALUES];
+    private int next;
+
+    // Latencies between 50 µs and 50 ms, the range the POST tests see
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = (long) (50_000 * Math.pow(1000, random.nextDouble()));
+        }
+        for (long value : values) {
+            histogram.record(value);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(values[next++ & (VALUES - 1)]);
+    }
+
+    @Benchmark
+    public long valueAtPercentile() {
+        return histogram.valueAtPercentile(99.9);
+    }
+}
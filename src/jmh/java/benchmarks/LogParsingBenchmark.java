@@ -0,0 +1,104 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.LogLoader;
+import utils.log.AccessLogParser;
+import utils.log.AccessLogReader;
+import utils.log.AccessLogRecord;
+import utils.log.ColumnarLog;
+import utils.log.HttpMethod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original LogTimeExtractor pipeline (LogLoader into one String, then the regex)
+ * against the byte-level parser and a query of the columnar export, on the bundled logs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogParsingBenchmark {
+    private static final Pattern POST_TIME = Pattern.compile("INFO.*POST.*?(\\d+\\.\\d+)(ms|µs)");
+
+    @Param({"todo.log", "todo_1000.log"})
+    public String resource;
+
+    private Path path;
+    private String log;
+    private ByteBuffer bytes;
+    private ColumnarLog columns;
+
+    @Setup
+    public void setup() throws IOException {
+        path = LogLoader.resourcePath(resource);
+        log = LogLoader.loadLog(resource);
+        bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        Path export = Files.createTempFile(resource, ColumnarLog.EXTENSION);
+        export.toFile().deleteOnExit();
+        ColumnarLog.export(path, export);
+        columns = ColumnarLog.open(export);
+    }
+
+    @Benchmark
+    public String loadLog() {
+        return LogLoader.loadLog(resource);
+    }
+
+    @Benchmark
+    public double regexExtract() {
+        Matcher matcher = POST_TIME.matcher(log);
+        double total = 0;
+        while (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(1));
+            total += matcher.group(2).equals("ms") ? value * 1000 : value;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long parseInMemory() {
+        AccessLogRecord record = new AccessLogRecord();
+        long total = 0;
+        int start = 0;
+        int limit = bytes.limit();
+        for (int i = 0; i < limit; i++) {
+            if (bytes.get(i) != '\n') continue;
+            if (AccessLogParser.parse(bytes, start, i, record) == AccessLogParser.LineType.ACCESS
+                    && record.getMethod() == HttpMethod.POST) {
+                total += record.getDurationNanos();
+            }
+            start = i + 1;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void readMappedFile(Blackhole blackhole) {
+        AccessLogReader.forEach(path, record -> blackhole.consume(record.getDurationNanos()));
+    }
+
+    @Benchmark
+    public long queryColumnar() {
+        return columns.histogram(HttpMethod.POST).getTotalCount();
+    }
+}
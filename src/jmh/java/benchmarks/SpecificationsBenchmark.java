@@ -0,0 +1,52 @@
+package benchmarks;
+
+import api.specs.Specifications;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// What building a spec per request used to cost the POST loop, next to the reused performance specs
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationsBenchmark {
+    private RequestSpecification authSpec;
+
+    @Setup
+    public void setup() {
+        authSpec = Specifications.performanceAuthSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification unAuthSpec() {
+        return Specifications.unAuthSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification authSpec() {
+        return Specifications.authSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification performanceUnAuthSpec() {
+        return Specifications.performanceUnAuthSpec();
+    }
+
+    @Benchmark
+    public String authorizationHeader() {
+        return Specifications.authorizationHeader(authSpec);
+    }
+}
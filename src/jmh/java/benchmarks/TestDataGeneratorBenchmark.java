@@ -0,0 +1,36 @@
+package benchmarks;
+
+import api.generators.TestDataGenerator;
+import api.models.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+
+    @Benchmark
+    public Todo generate() {
+        return TestDataGenerator.generate(Todo.class);
+    }
+
+    @Benchmark
+    public Todo generateTodo() {
+        return TestDataGenerator.generateTodo(TestDataGenerator.nextId());
+    }
+
+    @Benchmark
+    public byte[] generateTodoJson() {
+        return TestDataGenerator.generateTodoJson(TestDataGenerator.nextId());
+    }
+}
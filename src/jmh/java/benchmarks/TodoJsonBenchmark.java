@@ -0,0 +1,61 @@
+package benchmarks;
+
+import api.models.Todo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Jackson backs HttpTodoClient, Gson is the other mapper RestAssured can pick up from the classpath
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoJsonBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Gson gson = new Gson();
+    private Todo todo;
+    private byte[] jsonBytes;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        todo = Todo.builder().id(123456789L).text("Buy milk and bread on the way home").completed(true).build();
+        jsonBytes = mapper.writeValueAsBytes(todo);
+        json = new String(jsonBytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize() throws IOException {
+        return mapper.writeValueAsBytes(todo);
+    }
+
+    @Benchmark
+    public Todo jacksonDeserialize() throws IOException {
+        return mapper.readValue(jsonBytes, Todo.class);
+    }
+
+    @Benchmark
+    public byte[] gsonSerialize() {
+        return gson.toJson(todo).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Todo gsonDeserialize() {
+        return gson.fromJson(json, Todo.class);
+    }
+}
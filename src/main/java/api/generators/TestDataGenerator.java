@@ -1,48 +1,165 @@
 package api.generators;
 
-import org.apache.commons.lang3.RandomStringUtils;
+import api.models.Todo;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.util.Random;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class TestDataGenerator {
-    private static final Random random = new Random();
     private static final String TEST_PREFIX = "test_";
     private static final int MAX_LENGTH = 10;
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    // Bulk ids start far above the small ids the functional tests use
+    private static final long FIRST_BULK_ID = 1_000_000;
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(FIRST_BULK_ID);
+
+    private static final byte[] JSON_ID = "{\"id\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_TEXT = ",\"text\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_COMPLETED_TRUE = "\",\"completed\":true}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_COMPLETED_FALSE = "\",\"completed\":false}".getBytes(StandardCharsets.US_ASCII);
+
+    // Reflection runs once per class; generate() then only calls the cached method handles
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return Plan.of(type);
+        }
+    };
 
     public static <T> T generate(Class<T> clazz) {
         try {
-            T instance = clazz.getDeclaredConstructor().newInstance();
-
-            for (Field field : clazz.getDeclaredFields()) {
-                field.setAccessible(true);
-
-                Class<?> type = field.getType();
-
-                if (type == String.class) {
-                    field.set(instance, TEST_PREFIX + RandomStringUtils.randomAlphabetic(MAX_LENGTH));
-                } else if (type == long.class || type == Long.class) {
-                    field.set(instance, random.nextLong(100));
-                } else if (type == boolean.class || type == Boolean.class) {
-                    field.set(instance, random.nextBoolean());
-                } else {
-                    // optionally handle other types or nested classes
-                    System.out.println("Unsupported type: " + type.getName());
-                }
-            }
-
-            return instance;
-        } catch (Exception e) {
+            return clazz.cast(PLANS.get(clazz).newInstance());
+        } catch (Throwable e) {
             throw new RuntimeException("Failed to generate test data", e);
         }
     }
 
     public static String generateString(int length) {
-        return TEST_PREFIX + RandomStringUtils
-                .randomAlphabetic(Math.max(length - TEST_PREFIX.length(), MAX_LENGTH));
+        return TEST_PREFIX + randomAlphabetic(Math.max(length - TEST_PREFIX.length(), MAX_LENGTH));
     }
 
     public static long generateNumber(long length) {
-        return random.nextLong(length);
+        return ThreadLocalRandom.current().nextLong(length);
+    }
+
+    /**
+     * @return an id no other caller of this method gets, safe across threads
+     */
+    public static long nextId() {
+        return ID_SEQUENCE.getAndIncrement();
+    }
+
+    public static Todo generateTodo(long id) {
+        return new Todo(id, TEST_PREFIX + randomAlphabetic(MAX_LENGTH), ThreadLocalRandom.current().nextBoolean());
+    }
+
+    /**
+     * The JSON body of {@link #generateTodo(long)} written straight to bytes, without a Todo or a mapper.
+     */
+    public static byte[] generateTodoJson(long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] completed = random.nextBoolean() ? JSON_COMPLETED_TRUE : JSON_COMPLETED_FALSE;
+        String digits = Long.toString(id);
+        byte[] json = new byte[JSON_ID.length + digits.length() + JSON_TEXT.length
+                + TEST_PREFIX.length() + MAX_LENGTH + completed.length];
+
+        int pos = put(json, 0, JSON_ID);
+        for (int i = 0; i < digits.length(); i++) {
+            json[pos++] = (byte) digits.charAt(i);
+        }
+        pos = put(json, pos, JSON_TEXT);
+        for (int i = 0; i < TEST_PREFIX.length(); i++) {
+            json[pos++] = (byte) TEST_PREFIX.charAt(i);
+        }
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            json[pos++] = (byte) ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        put(json, pos, completed);
+        return json;
+    }
+
+    static String randomAlphabetic(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    private static int put(byte[] target, int pos, byte[] source) {
+        System.arraycopy(source, 0, target, pos, source.length);
+        return pos + source.length;
+    }
+
+    private static class Plan {
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final MethodHandle constructor;
+        private final MethodHandle[] setters;
+        private final List<Supplier<Object>> values;
+
+        private Plan(MethodHandle constructor, MethodHandle[] setters, List<Supplier<Object>> values) {
+            this.constructor = constructor;
+            this.setters = setters;
+            this.values = values;
+        }
+
+        static Plan of(Class<?> type) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                var ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                MethodHandle constructor = lookup.unreflectConstructor(ctor)
+                        .asType(MethodType.methodType(Object.class));
+
+                List<MethodHandle> setters = new ArrayList<>();
+                List<Supplier<Object>> values = new ArrayList<>();
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) continue;
+
+                    Supplier<Object> value = valueFor(field.getType());
+                    if (value == null) {
+                        // optionally handle other types or nested classes
+                        System.out.println("Unsupported type: " + field.getType().getName());
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    setters.add(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+                    values.add(value);
+                }
+                return new Plan(constructor, setters.toArray(new MethodHandle[0]), values);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to inspect " + type.getName(), e);
+            }
+        }
+
+        Object newInstance() throws Throwable {
+            Object instance = (Object) constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(instance, values.get(i).get());
+            }
+            return instance;
+        }
+
+        private static Supplier<Object> valueFor(Class<?> type) {
+            if (type == String.class) {
+                return () -> TEST_PREFIX + randomAlphabetic(MAX_LENGTH);
+            } else if (type == long.class || type == Long.class) {
+                return () -> ThreadLocalRandom.current().nextLong(100);
+            } else if (type == boolean.class || type == Boolean.class) {
+                return () -> ThreadLocalRandom.current().nextBoolean();
+            }
+            return null;
+        }
     }
 }
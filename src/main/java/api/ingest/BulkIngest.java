@@ -0,0 +1,217 @@
+package api.ingest;
+
+import api.generators.TestDataGenerator;
+import api.models.Todo;
+import api.requests.HttpTodoClient;
+import utils.collections.ConcurrentLongSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static api.requests.TodoService.TODOS_END_POINT;
+
+/**
+ * Creates todos in bulk through a staged pipeline connected by bounded queues:
+ * the stream is cut into batches, serializer threads turn each batch into back-to-back POST requests,
+ * and every connection writes batches with HTTP/1.1 pipelining while its reader checks the statuses.
+ * Ids answered 201 are added to {@code createdTodos}, so the regular cleanup removes them.
+ */
+public class BulkIngest {
+    private static final List<Todo> END_OF_TODOS = new ArrayList<>(0);
+
+    private final String host;
+    private final int port;
+    private final IngestProfile profile;
+    private final ConcurrentLongSet createdTodos;
+
+    public BulkIngest(String baseUri, IngestProfile profile, ConcurrentLongSet createdTodos) {
+        URI uri = URI.create(baseUri);
+        this.host = uri.getHost();
+        this.port = uri.getPort() > 0 ? uri.getPort() : 80;
+        this.profile = profile;
+        this.createdTodos = createdTodos;
+    }
+
+    // Generated todos for ids [fromId, toId)
+    public IngestReport ingest(long fromId, long toId) {
+        return ingest(LongStream.range(fromId, toId).mapToObj(TestDataGenerator::generateTodo));
+    }
+
+    public IngestReport ingest(Stream<Todo> todos) {
+        IngestReport report = new IngestReport();
+        BlockingQueue<List<Todo>> todoBatches = new ArrayBlockingQueue<>(profile.getQueueCapacity());
+        BlockingQueue<RequestBatch> requestBatches = new ArrayBlockingQueue<>(profile.getQueueCapacity());
+        AtomicLong submitted = new AtomicLong();
+        AtomicInteger runningSerializers = new AtomicInteger(profile.getSerializerThreads());
+        Queue<RequestBatch> unsent = new ConcurrentLinkedQueue<>();
+        AtomicInteger runningSenders = new AtomicInteger(profile.getConnections());
+
+        List<PipelinedConnection> connections = new ArrayList<>();
+        int tasks = 1 + profile.getSerializerThreads() + 2 * profile.getConnections();
+        ExecutorService executor = Executors.newFixedThreadPool(tasks);
+        CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < profile.getConnections(); i++) {
+                connections.add(new PipelinedConnection(host, port, profile.getPipelineDepth(), report, createdTodos));
+            }
+
+            stages.submit(() -> {
+                generate(todos.iterator(), todoBatches, submitted);
+                return null;
+            });
+            for (int i = 0; i < profile.getSerializerThreads(); i++) {
+                stages.submit(() -> {
+                    serialize(todoBatches, requestBatches, runningSerializers);
+                    return null;
+                });
+            }
+            for (PipelinedConnection connection : connections) {
+                stages.submit(() -> {
+                    connection.readResponses();
+                    return null;
+                });
+                stages.submit(() -> {
+                    send(connection, requestBatches, unsent, runningSenders, report);
+                    return null;
+                });
+            }
+
+            for (int i = 0; i < tasks; i++) {
+                stages.take().get();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to connect to " + host + ":" + port, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ingest interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ingest stage failed", e.getCause());
+        } finally {
+            // readers blocked in a socket read ignore interrupts, closing the sockets is what stops them
+            connections.forEach(PipelinedConnection::abort);
+            executor.shutdownNow();
+        }
+        report.finish(submitted.get(), System.nanoTime() - start);
+        return report;
+    }
+
+    private void generate(Iterator<Todo> todos, BlockingQueue<List<Todo>> out, AtomicLong submitted)
+            throws InterruptedException {
+        List<Todo> batch = new ArrayList<>(profile.getBatchSize());
+        while (todos.hasNext()) {
+            batch.add(todos.next());
+            if (batch.size() == profile.getBatchSize()) {
+                submitted.addAndGet(batch.size());
+                out.put(batch);
+                batch = new ArrayList<>(profile.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            submitted.addAndGet(batch.size());
+            out.put(batch);
+        }
+        out.put(END_OF_TODOS);
+    }
+
+    private void serialize(BlockingQueue<List<Todo>> in, BlockingQueue<RequestBatch> out, AtomicInteger running)
+            throws InterruptedException {
+        byte[] head = PipelinedConnection.ascii("POST " + TODOS_END_POINT + " HTTP/1.1\r\n"
+                + "Host: " + host + ":" + port + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: ");
+        byte[] headEnd = PipelinedConnection.ascii("\r\n\r\n");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(profile.getBatchSize() * 160);
+
+        List<Todo> todos;
+        while ((todos = in.take()) != END_OF_TODOS) {
+            long[] ids = new long[todos.size()];
+            int[] ends = new int[todos.size()];
+            bytes.reset();
+            for (int i = 0; i < todos.size(); i++) {
+                byte[] json = HttpTodoClient.toJson(todos.get(i));
+                bytes.writeBytes(head);
+                bytes.writeBytes(PipelinedConnection.ascii(Integer.toString(json.length)));
+                bytes.writeBytes(headEnd);
+                bytes.writeBytes(json);
+                ids[i] = todos.get(i).getId();
+                ends[i] = bytes.size();
+            }
+            out.put(new RequestBatch(ids, bytes.toByteArray(), ends));
+        }
+        // Every serializer has to see the end marker; the last one to stop passes it on
+        in.put(END_OF_TODOS);
+        if (running.decrementAndGet() == 0) out.put(RequestBatch.END);
+    }
+
+    /**
+     * Batches a broken connection could not write go to {@code unsent} and are picked up by the connections
+     * still open; only when none is left are they counted as lost, or the ingest fails if batches are still coming.
+     */
+    private static void send(PipelinedConnection connection, BlockingQueue<RequestBatch> in, Queue<RequestBatch> unsent,
+                             AtomicInteger running, IngestReport report) throws InterruptedException, IOException {
+        boolean broken = false;
+        try {
+            RequestBatch batch;
+            while ((batch = unsent.poll()) != null || (batch = in.take()) != RequestBatch.END) {
+                RequestBatch rest = connection.send(batch);
+                if (rest != null) {
+                    if (rest.size() > 0) unsent.add(rest);
+                    broken = true;
+                    break;
+                }
+            }
+            if (!broken) {
+                in.put(RequestBatch.END);
+                while (!broken && (batch = unsent.poll()) != null) {
+                    RequestBatch rest = connection.send(batch);
+                    if (rest != null) {
+                        if (rest.size() > 0) unsent.add(rest);
+                        broken = true;
+                    }
+                }
+            }
+        } finally {
+            if (broken) {
+                connection.abort();
+            } else {
+                connection.close();
+            }
+        }
+
+        if (running.decrementAndGet() > 0) return;
+        long lost = 0;
+        RequestBatch batch;
+        while ((batch = unsent.poll()) != null) {
+            lost += batch.size();
+        }
+        boolean ended = !broken;
+        while (!ended && (batch = in.poll()) != null) {
+            if (batch == RequestBatch.END) {
+                ended = true;
+            } else {
+                lost += batch.size();
+            }
+        }
+        if (lost > 0) report.recordLost(lost, "no open connection left");
+        if (!ended) throw new IOException("Every connection to the server was closed before the stream ended");
+    }
+}
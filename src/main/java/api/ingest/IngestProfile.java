@@ -0,0 +1,23 @@
+package api.ingest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class IngestProfile {
+    // Keep-alive connections the batches are spread over
+    @Builder.Default
+    private int connections = 8;
+    // Requests written ahead of their responses on one connection
+    @Builder.Default
+    private int pipelineDepth = 64;
+    // Todos serialized into one batch of back-to-back requests
+    @Builder.Default
+    private int batchSize = 256;
+    @Builder.Default
+    private int serializerThreads = 2;
+    // Batches buffered between two stages
+    @Builder.Default
+    private int queueCapacity = 32;
+}
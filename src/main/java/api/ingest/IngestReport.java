@@ -0,0 +1,55 @@
+package api.ingest;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+public class IngestReport {
+    private static final int CREATED = 201;
+
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder lost = new LongAdder();
+    private volatile String firstError;
+    private long submitted;
+    private long elapsedNanos;
+
+    void record(int status) {
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    // Requests whose response never arrived because the connection broke
+    void recordLost(long count, String error) {
+        lost.add(count);
+        if (firstError == null) firstError = error;
+    }
+
+    void finish(long submitted, long elapsedNanos) {
+        this.submitted = submitted;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long created() {
+        LongAdder count = statusCounts.get(CREATED);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long failed() {
+        return submitted - created();
+    }
+
+    public double rate() {
+        return elapsedNanos > 0 ? created() * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    public void print(String label) {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+        System.out.printf("%s ingested %d of %d in %.2f s: %.0f todos/s, statuses: %s, lost: %d%s%n",
+                label, created(), submitted, elapsedNanos / 1e9, rate(), statuses, lost.sum(),
+                firstError != null ? " (first error: " + firstError + ")" : "");
+    }
+}
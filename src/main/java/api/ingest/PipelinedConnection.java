@@ -0,0 +1,224 @@
+package api.ingest;
+
+import utils.collections.ConcurrentLongSet;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * One keep-alive HTTP/1.1 connection with pipelining: requests are written without waiting for
+ * earlier responses, up to {@code depth} outstanding, and a reader matches responses to ids in FIFO order.
+ * Responses are framed by Content-Length or chunked encoding; their bodies are skipped.
+ */
+class PipelinedConnection {
+    // Released by the reader when the connection breaks so the sender never waits on it again
+    private static final int UNBLOCK_PERMITS = Integer.MAX_VALUE / 2;
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final InputStream in;
+    private final int depth;
+    private final Semaphore window;
+    private final BlockingQueue<Long> awaiting;
+    private final IngestReport report;
+    private final ConcurrentLongSet created;
+    private volatile boolean broken;
+    private volatile boolean closing;
+
+    PipelinedConnection(String host, int port, int depth, IngestReport report, ConcurrentLongSet created) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.out = socket.getOutputStream();
+        this.in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+        this.depth = depth;
+        this.window = new Semaphore(depth);
+        this.awaiting = new ArrayBlockingQueue<>(depth);
+        this.report = report;
+        this.created = created;
+    }
+
+    /**
+     * Writes the batch in runs of as many requests as the window allows at once.
+     *
+     * @return null when the whole batch was written, otherwise the requests never written because the
+     * connection broke; requests written but left unanswered are counted as lost
+     */
+    RequestBatch send(RequestBatch batch) throws InterruptedException {
+        int next = 0;
+        int from = 0;
+        while (next < batch.size()) {
+            window.acquire();
+            int count = 1;
+            while (next + count < batch.size() && window.tryAcquire()) {
+                count++;
+            }
+            if (broken) return batch.tail(next);
+
+            for (int i = 0; i < count; i++) {
+                awaiting.add(batch.ids[next + i]);
+            }
+            int to = batch.ends[next + count - 1];
+            try {
+                out.write(batch.bytes, from, to - from);
+                out.flush();
+            } catch (IOException e) {
+                broken = true;
+                closeSocket();
+                drainAwaiting(e.toString());
+                return batch.tail(next + count);
+            }
+            // the reader may have given up on the connection while these ids were being queued
+            if (broken) {
+                drainAwaiting("connection closed by the server");
+                return batch.tail(next + count);
+            }
+            from = to;
+            next += count;
+        }
+        return null;
+    }
+
+    // Waits for the outstanding responses, then closes the connection
+    void close() throws InterruptedException {
+        window.acquire(depth);
+        closing = true;
+        closeSocket();
+    }
+
+    // Closes the connection at once; unblocks a reader waiting in read
+    void abort() {
+        closeSocket();
+    }
+
+    void readResponses() {
+        String error = null;
+        try {
+            int status;
+            while ((status = readResponse()) >= 0) {
+                Long id = awaiting.poll();
+                if (id == null) throw new IOException("Response " + status + " without a pending request");
+                report.record(status);
+                if (status == 201) created.add(id);
+                window.release();
+            }
+        } catch (IOException e) {
+            if (!closing) error = e.toString();
+        }
+
+        broken = true;
+        drainAwaiting(error != null ? error : "connection closed by the server");
+        window.release(UNBLOCK_PERMITS);
+    }
+
+    // Both the reader and the sender drain, whichever sees the break last counts what the other left
+    private void drainAwaiting(String error) {
+        long lost = 0;
+        while (awaiting.poll() != null) {
+            lost++;
+        }
+        if (lost > 0) report.recordLost(lost, error);
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // Status of the next response or -1 when the server closed the connection between responses
+    private int readResponse() throws IOException {
+        String statusLine = readLine();
+        if (statusLine == null) return -1;
+        if (statusLine.length() < 12 || !statusLine.startsWith("HTTP/1.")) {
+            throw new IOException("Malformed status line: " + statusLine);
+        }
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+
+        long contentLength = -1;
+        boolean chunked = false;
+        String header;
+        while ((header = readLine()) != null && !header.isEmpty()) {
+            int colon = header.indexOf(':');
+            if (colon < 0) continue;
+            String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = header.substring(colon + 1).trim();
+            if (name.equals("content-length")) {
+                contentLength = Long.parseLong(value);
+            } else if (name.equals("transfer-encoding")) {
+                chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            }
+        }
+        if (header == null) throw new EOFException("Connection closed inside response headers");
+
+        if (status < 200 || status == 204 || status == 304) return status;
+        if (chunked) {
+            skipChunks();
+        } else if (contentLength > 0) {
+            skip(contentLength);
+        } else if (contentLength < 0) {
+            // Body framed by the end of the connection
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return status;
+    }
+
+    private void skipChunks() throws IOException {
+        while (true) {
+            String sizeLine = readLine();
+            if (sizeLine == null) throw new EOFException("Connection closed inside a chunked body");
+            int extension = sizeLine.indexOf(';');
+            long size = Long.parseLong((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            if (size == 0) {
+                String trailer;
+                while ((trailer = readLine()) != null && !trailer.isEmpty()) {
+                    // trailers are ignored
+                }
+                return;
+            }
+            skip(size);
+            readLine();
+        }
+    }
+
+    private void skip(long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) throw new EOFException("Connection closed inside a response body");
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    // ASCII line without the CRLF, null on end of stream before any byte
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') line.setLength(length - 1);
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        if (line.length() > 0) throw new EOFException("Connection closed inside a line");
+        return null;
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
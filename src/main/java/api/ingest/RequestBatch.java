@@ -0,0 +1,35 @@
+package api.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Serialized POST requests sent back to back; {@code ends[i]} is where request {@code i} stops in {@code bytes}.
+ */
+final class RequestBatch {
+    static final RequestBatch END = new RequestBatch(new long[0], new byte[0], new int[0]);
+
+    final long[] ids;
+    final byte[] bytes;
+    final int[] ends;
+
+    RequestBatch(long[] ids, byte[] bytes, int[] ends) {
+        this.ids = ids;
+        this.bytes = bytes;
+        this.ends = ends;
+    }
+
+    // Requests from index {@code from} on, as a batch of their own
+    RequestBatch tail(int from) {
+        int offset = from == 0 ? 0 : ends[from - 1];
+        int[] tailEnds = new int[ends.length - from];
+        for (int i = 0; i < tailEnds.length; i++) {
+            tailEnds[i] = ends[from + i] - offset;
+        }
+        return new RequestBatch(Arrays.copyOfRange(ids, from, ids.length),
+                Arrays.copyOfRange(bytes, offset, bytes.length), tailEnds);
+    }
+
+    int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,44 @@
+package api.payloads;
+
+import lombok.Getter;
+
+/**
+ * A serialized todo body living in a {@link PayloadPool} slab. The id is patched in place,
+ * right-aligned in a blank-padded slot, so one body can be resent with fresh ids without reserializing.
+ */
+@Getter
+public class Payload {
+    private final byte[] array;
+    private final int offset;
+    private final int length;
+    private final int idOffset;
+    private final int idWidth;
+    private final int textLength;
+    private final boolean completed;
+    private long id;
+
+    Payload(byte[] array, int offset, int length, int idOffset, int idWidth, int textLength, boolean completed) {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.idOffset = idOffset;
+        this.idWidth = idWidth;
+        this.textLength = textLength;
+        this.completed = completed;
+    }
+
+    public Payload setId(long id) {
+        if (id < 0) throw new IllegalArgumentException("Negative id: " + id);
+        this.id = id;
+        int pos = idOffset + idWidth - 1;
+        long rest = id;
+        do {
+            array[pos--] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        while (pos >= idOffset) {
+            array[pos--] = ' ';
+        }
+        return this;
+    }
+}
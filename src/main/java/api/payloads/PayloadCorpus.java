@@ -0,0 +1,20 @@
+package api.payloads;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PayloadCorpus {
+    // also the maximum number of payloads leased at the same time
+    @Builder.Default
+    private int size = 1024;
+    @Builder.Default
+    private int minTextLength = 5;
+    @Builder.Default
+    private int maxTextLength = 64;
+    @Builder.Default
+    private double completedRatio = 0.5;
+    @Builder.Default
+    private long seed = 42;
+}
@@ -0,0 +1,101 @@
+package api.payloads;
+
+import api.models.Todo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Serializes a corpus of todo bodies once into a single byte[] slab and leases them out.
+ * A leased payload belongs to one caller until {@link #release(Payload)}, so its id can be
+ * patched and the bytes handed to the HTTP client without copying.
+ */
+public class PayloadPool {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long ID_PLACEHOLDER = Long.MAX_VALUE;
+    private static final byte[] ID_PLACEHOLDER_DIGITS = Long.toString(ID_PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+
+    private final BlockingQueue<Payload> free;
+    private final int slabSize;
+
+    public PayloadPool(PayloadCorpus corpus) {
+        Random random = new Random(corpus.getSeed());
+        ByteArrayOutputStream slab = new ByteArrayOutputStream();
+        int[] offsets = new int[corpus.getSize() + 1];
+        int[] idOffsets = new int[corpus.getSize()];
+        int[] textLengths = new int[corpus.getSize()];
+        boolean[] completed = new boolean[corpus.getSize()];
+
+        for (int i = 0; i < corpus.getSize(); i++) {
+            textLengths[i] = corpus.getMinTextLength()
+                    + random.nextInt(corpus.getMaxTextLength() - corpus.getMinTextLength() + 1);
+            completed[i] = random.nextDouble() < corpus.getCompletedRatio();
+            byte[] body = serialize(new Todo(ID_PLACEHOLDER, text(random, textLengths[i]), completed[i]));
+
+            offsets[i] = slab.size();
+            idOffsets[i] = offsets[i] + indexOf(body, ID_PLACEHOLDER_DIGITS);
+            slab.write(body, 0, body.length);
+        }
+        offsets[corpus.getSize()] = slab.size();
+
+        byte[] array = slab.toByteArray();
+        this.slabSize = array.length;
+        this.free = new ArrayBlockingQueue<>(corpus.getSize());
+        for (int i = 0; i < corpus.getSize(); i++) {
+            free.add(new Payload(array, offsets[i], offsets[i + 1] - offsets[i], idOffsets[i],
+                    ID_PLACEHOLDER_DIGITS.length, textLengths[i], completed[i]));
+        }
+    }
+
+    /**
+     * Blocks while every payload is leased.
+     */
+    public Payload acquire() {
+        try {
+            return free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for a payload", e);
+        }
+    }
+
+    public void release(Payload payload) {
+        free.add(payload);
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    private static String text(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static byte[] serialize(Todo todo) {
+        try {
+            return MAPPER.writeValueAsBytes(todo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize " + todo, e);
+        }
+    }
+
+    private static int indexOf(byte[] body, byte[] digits) {
+        outer:
+        for (int i = 0; i + digits.length <= body.length; i++) {
+            for (int j = 0; j < digits.length; j++) {
+                if (body[i + j] != digits[j]) continue outer;
+            }
+            return i;
+        }
+        throw new IllegalStateException("Id placeholder not found in serialized todo");
+    }
+}
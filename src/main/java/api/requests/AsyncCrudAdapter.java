@@ -0,0 +1,73 @@
+package api.requests;
+
+import api.models.Todo;
+import io.restassured.specification.RequestSpecification;
+import utils.collections.ConcurrentLongSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AsyncCrudInterface} for a blocking {@link CrudInterface} such as the RestAssured {@link TodoService}:
+ * calls run on a pool with one thread per allowed in-flight request. Callers get futures and backpressure,
+ * but unlike {@link AsyncHttpTodoClient} every outstanding request still occupies a thread.
+ */
+public class AsyncCrudAdapter implements AsyncCrudInterface {
+    private final CrudInterface delegate;
+    private final InFlightLimiter limiter;
+    private final ExecutorService executor;
+
+    public AsyncCrudAdapter(CrudInterface delegate, int maxInFlight) {
+        this.delegate = delegate;
+        this.limiter = new InFlightLimiter(maxInFlight);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxInFlight, r -> {
+            Thread thread = new Thread(r, "async-crud-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> create(Todo todo, int httpStatus) {
+        return run(() -> delegate.create(todo, httpStatus));
+    }
+
+    @Override
+    public CompletableFuture<List<Todo>> read(Map<String, String> queryParams, int httpStatus) {
+        return limiter.submit(() -> CompletableFuture.supplyAsync(() -> delegate.read(queryParams, httpStatus), executor));
+    }
+
+    @Override
+    public CompletableFuture<Void> update(long id, Todo todo, int httpStatus) {
+        return run(() -> delegate.update(id, todo, httpStatus));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(RequestSpecification spec, long id, int httpStatus) {
+        return run(() -> delegate.delete(spec, id, httpStatus));
+    }
+
+    @Override
+    public ConcurrentLongSet getCreatedTodos() {
+        return delegate.getCreatedTodos();
+    }
+
+    @Override
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<Void> run(Runnable call) {
+        return limiter.submit(() -> CompletableFuture.runAsync(call, executor));
+    }
+}
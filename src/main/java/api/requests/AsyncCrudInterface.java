@@ -0,0 +1,26 @@
+package api.requests;
+
+import api.models.Todo;
+import io.restassured.specification.RequestSpecification;
+import utils.collections.ConcurrentLongSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link CrudInterface}: a status mismatch completes the future
+ * exceptionally with an {@link AssertionError}. Every implementation bounds the requests in flight;
+ * once the bound is reached a call blocks the caller until an earlier request completes.
+ */
+public interface AsyncCrudInterface extends AutoCloseable {
+    CompletableFuture<Void> create(Todo todo, int httpStatus);
+    CompletableFuture<List<Todo>> read(Map<String, String> queryParams, int httpStatus);
+    CompletableFuture<Void> update(long id, Todo todo, int httpStatus);
+    CompletableFuture<Void> delete(RequestSpecification spec, long id, int httpStatus);
+    ConcurrentLongSet getCreatedTodos();
+    int inFlight();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,80 @@
+package api.requests;
+
+import api.models.Todo;
+import api.specs.Specifications;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpStatus;
+import utils.collections.ConcurrentLongSet;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncCrudInterface} on {@link java.net.http.HttpClient#sendAsync}: no thread waits for a response,
+ * so a single producer thread can keep up to {@code maxInFlight} requests outstanding.
+ * Created ids go to the wrapped client's set and are removed by its usual cleanup.
+ */
+public class AsyncHttpTodoClient implements AsyncCrudInterface {
+    private final HttpTodoClient client;
+    private final InFlightLimiter limiter;
+
+    public AsyncHttpTodoClient(HttpTodoClient client, int maxInFlight) {
+        this.client = client;
+        this.limiter = new InFlightLimiter(maxInFlight);
+    }
+
+    @Override
+    public CompletableFuture<Void> create(Todo todo, int httpStatus) {
+        byte[] body = HttpTodoClient.toJson(todo);
+        return send("POST", client.postRequest(body, 0, body.length), httpStatus)
+                .thenRun(() -> {
+                    if (httpStatus == HttpStatus.SC_CREATED) client.getCreatedTodos().add(todo.getId());
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Todo>> read(Map<String, String> queryParams, int httpStatus) {
+        return limiter.submit(() -> client.getHttpClient()
+                .sendAsync(client.getRequest(queryParams), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    HttpTodoClient.assertStatus("GET", response.statusCode(), httpStatus);
+                    return HttpTodoClient.parseTodos(response.body());
+                }));
+    }
+
+    @Override
+    public CompletableFuture<Void> update(long id, Todo todo, int httpStatus) {
+        return send("PUT", client.putRequest(id, HttpTodoClient.toJson(todo)), httpStatus);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(RequestSpecification spec, long id, int httpStatus) {
+        return send("DELETE", client.deleteRequest(id, Specifications.authorizationHeader(spec)), httpStatus)
+                .thenRun(() -> {
+                    if (httpStatus == HttpStatus.SC_NO_CONTENT) client.getCreatedTodos().remove(id);
+                });
+    }
+
+    @Override
+    public ConcurrentLongSet getCreatedTodos() {
+        return client.getCreatedTodos();
+    }
+
+    @Override
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private CompletableFuture<Void> send(String method, HttpRequest request, int httpStatus) {
+        return limiter.submit(() -> client.getHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> HttpTodoClient.assertStatus(method, response.statusCode(), httpStatus)));
+    }
+}
@@ -0,0 +1,73 @@
+package api.requests;
+
+import api.models.Todo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Deletes todos concurrently over the pooled connections of an {@link HttpTodoClient}
+ * and collects the outcome of every DELETE into one {@link CleanupReport}.
+ */
+public class BulkCleaner {
+    private final HttpTodoClient httpClient;
+    private final String authorization;
+    private final int concurrency;
+
+    public BulkCleaner(HttpTodoClient httpClient, String authorization, int concurrency) {
+        this.httpClient = httpClient;
+        this.authorization = authorization;
+        this.concurrency = concurrency;
+    }
+
+    public CleanupReport deleteAll(long[] ids) {
+        CleanupReport report = new CleanupReport();
+        long start = System.nanoTime();
+        int workers = Math.max(1, Math.min(concurrency, ids.length));
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                int first = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < ids.length; i += workers) {
+                        try {
+                            report.record(ids[i], httpClient.delete(ids[i], authorization));
+                        } catch (RuntimeException e) {
+                            report.recordException(ids[i], e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Cleanup interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Cleanup worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Removes whatever is left on the server, found by paging through GET /todos.
+     * The ids are listed first and deleted afterwards so deletions do not shift the pages.
+     */
+    public CleanupReport purge(int pageSize) {
+        long[] ids;
+        try (Stream<Todo> todos = httpClient.readAll(pageSize, true)) {
+            ids = todos.mapToLong(Todo::getId).toArray();
+        }
+        return deleteAll(ids);
+    }
+}
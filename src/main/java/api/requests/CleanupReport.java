@@ -0,0 +1,61 @@
+package api.requests;
+
+import org.apache.http.HttpStatus;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CleanupReport {
+    private static final int MAX_ERRORS_KEPT = 10;
+
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder exceptions = new LongAdder();
+    private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+    private volatile long elapsedNanos;
+
+    void record(long id, int status) {
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status != HttpStatus.SC_NO_CONTENT && errors.size() < MAX_ERRORS_KEPT) {
+            errors.add("DELETE " + id + " -> " + status);
+        }
+    }
+
+    void recordException(long id, Exception e) {
+        exceptions.increment();
+        if (errors.size() < MAX_ERRORS_KEPT) errors.add("DELETE " + id + " -> " + e);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long deleted() {
+        return count(HttpStatus.SC_NO_CONTENT);
+    }
+
+    public long count(int status) {
+        LongAdder count = statusCounts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long failed() {
+        long failed = exceptions.sum();
+        for (Map.Entry<Integer, LongAdder> entry : statusCounts.entrySet()) {
+            if (entry.getKey() != HttpStatus.SC_NO_CONTENT) failed += entry.getValue().sum();
+        }
+        return failed;
+    }
+
+    public void assertNoFailures() {
+        if (failed() > 0) throw new AssertionError("Cleanup failed: " + this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("deleted=%d failed=%d statuses=%s in %.1f ms, first errors: %s",
+                deleted(), failed(), statusCounts, elapsedNanos / 1e6, errors);
+    }
+}
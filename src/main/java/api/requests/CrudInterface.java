@@ -2,6 +2,7 @@ package api.requests;
 
 import api.models.Todo;
 import io.restassured.specification.RequestSpecification;
+import utils.collections.ConcurrentLongSet;
 
 import java.util.List;
 import java.util.Map;
@@ -11,4 +12,5 @@ public interface CrudInterface {
     List<Todo> read(Map<String, String> queryParams, int httpStatus);
     void update(long id, Todo todo, int httpStatus);
     void delete(RequestSpecification spec, long id, int httpStatus);
+    ConcurrentLongSet getCreatedTodos();
 }
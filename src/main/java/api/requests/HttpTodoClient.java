@@ -0,0 +1,216 @@
+package api.requests;
+
+import api.models.Todo;
+import api.payloads.Payload;
+import api.specs.Specifications;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.specification.RequestSpecification;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.http.HttpStatus;
+import utils.collections.ConcurrentLongSet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static api.requests.TodoService.TODOS_END_POINT;
+
+/**
+ * {@link CrudInterface} on top of {@link HttpClient}: connections are kept alive and pooled,
+ * nothing is logged and bodies can be serialized once up front via {@link #toJson(Todo)}.
+ * Meant for load generation; the functional tests keep using the RestAssured {@link TodoService}.
+ */
+@Getter
+@Setter
+public class HttpTodoClient implements CrudInterface {
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Todo>> TODO_LIST = new TypeReference<>() {};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String todosUri;
+    private ConcurrentLongSet createdTodos = new ConcurrentLongSet();
+
+    public HttpTodoClient(String baseUri) {
+        this(baseUri, HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build());
+    }
+
+    public HttpTodoClient(String baseUri, HttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.todosUri = baseUri + TODOS_END_POINT;
+    }
+
+    @Override
+    public void create(Todo todo, int httpStatus) {
+        assertStatus("POST", post(toJson(todo)), httpStatus);
+
+        if (httpStatus == HttpStatus.SC_CREATED) createdTodos.add(todo.getId());
+    }
+
+    public void create(Payload payload, int httpStatus) {
+        assertStatus("POST", post(payload.getArray(), payload.getOffset(), payload.getLength()), httpStatus);
+
+        if (httpStatus == HttpStatus.SC_CREATED) createdTodos.add(payload.getId());
+    }
+
+    @Override
+    public List<Todo> read(Map<String, String> queryParams, int httpStatus) {
+        HttpResponse<InputStream> response = get(queryParams);
+        try (InputStream body = response.body()) {
+            assertStatus("GET", response.statusCode(), httpStatus);
+            return MAPPER.readValue(body, TODO_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read todos", e);
+        }
+    }
+
+    /**
+     * Streams the whole store page by page; close the stream to release a pending prefetch.
+     */
+    public Stream<Todo> readAll(int pageSize, boolean prefetch) {
+        return TodoPageReader.stream(this::openPage, pageSize, prefetch);
+    }
+
+    @Override
+    public void update(long id, Todo todo, int httpStatus) {
+        assertStatus("PUT", put(id, toJson(todo)), httpStatus);
+    }
+
+    @Override
+    public void delete(RequestSpecification spec, long id, int httpStatus) {
+        assertStatus("DELETE", delete(id, Specifications.authorizationHeader(spec)), httpStatus);
+
+        if (httpStatus == HttpStatus.SC_NO_CONTENT) createdTodos.remove(id);
+    }
+
+    public int post(byte[] body) {
+        return post(body, 0, body.length);
+    }
+
+    public int post(byte[] body, int offset, int length) {
+        return send(postRequest(body, offset, length));
+    }
+
+    public int put(long id, byte[] body) {
+        return send(putRequest(id, body));
+    }
+
+    /**
+     * @param authorization value of the Authorization header or null to send none
+     */
+    public int delete(long id, String authorization) {
+        return send(deleteRequest(id, authorization));
+    }
+
+    /**
+     * The caller owns the returned body stream and must close it.
+     */
+    public HttpResponse<InputStream> get(Map<String, String> queryParams) {
+        return send(getRequest(queryParams), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    // Non-blocking variant over the same connection pool, see AsyncHttpTodoClient
+    public AsyncHttpTodoClient async(int maxInFlight) {
+        return new AsyncHttpTodoClient(this, maxInFlight);
+    }
+
+    private InputStream openPage(long offset, int limit) {
+        HttpResponse<InputStream> response = get(Map.of("offset", Long.toString(offset), "limit", Integer.toString(limit)));
+        if (response.statusCode() != HttpStatus.SC_OK) {
+            try {
+                response.body().close();
+            } catch (IOException ignored) {
+            }
+            assertStatus("GET", response.statusCode(), HttpStatus.SC_OK);
+        }
+        return response.body();
+    }
+
+    public static byte[] toJson(Todo todo) {
+        try {
+            return MAPPER.writeValueAsBytes(todo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize " + todo, e);
+        }
+    }
+
+    HttpRequest postRequest(byte[] body, int offset, int length) {
+        return jsonRequest(URI.create(todosUri))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body, offset, length))
+                .build();
+    }
+
+    HttpRequest putRequest(long id, byte[] body) {
+        return jsonRequest(URI.create(todosUri + "/" + id))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    HttpRequest deleteRequest(long id, String authorization) {
+        HttpRequest.Builder request = jsonRequest(URI.create(todosUri + "/" + id)).DELETE();
+        if (authorization != null) request.header("Authorization", authorization);
+        return request.build();
+    }
+
+    HttpRequest getRequest(Map<String, String> queryParams) {
+        String query = queryParams.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        URI uri = URI.create(query.isEmpty() ? todosUri : todosUri + "?" + query);
+        return jsonRequest(uri).GET().build();
+    }
+
+    static List<Todo> parseTodos(byte[] body) {
+        try {
+            return MAPPER.readValue(body, TODO_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read todos", e);
+        }
+    }
+
+    private int send(HttpRequest request) {
+        return send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        try {
+            return httpClient.send(request, handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(request.method() + " " + request.uri() + " interrupted", e);
+        }
+    }
+
+    private static HttpRequest.Builder jsonRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    static void assertStatus(String method, int actual, int expected) {
+        if (actual != expected) {
+            throw new AssertionError(method + ": expected status code <" + expected + "> but was <" + actual + ">.");
+        }
+    }
+}
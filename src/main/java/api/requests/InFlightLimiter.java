@@ -0,0 +1,42 @@
+package api.requests;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of outstanding asynchronous calls. Callers block in {@link #submit} while the cap
+ * is reached, which pushes back on whoever produces the requests instead of queueing them without bound.
+ */
+class InFlightLimiter {
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    InFlightLimiter(int maxInFlight) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> permits.release());
+    }
+
+    int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+}
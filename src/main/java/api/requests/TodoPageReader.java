@@ -0,0 +1,157 @@
+package api.requests;
+
+import api.models.Todo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static api.requests.HttpTodoClient.MAPPER;
+
+/**
+ * Walks GET /todos page by page with offset/limit and decodes every page with a streaming
+ * {@link JsonParser}, so only the todo being handed out is held in memory, never the whole store.
+ * With prefetch the next page is requested while the current one is being consumed;
+ * the walk ends at the first page shorter than the page size.
+ */
+public class TodoPageReader implements Iterator<Todo>, Closeable {
+
+    @FunctionalInterface
+    public interface PageSource {
+        /**
+         * @return body of {@code GET /todos?offset=..&limit=..}, closed by the reader
+         */
+        InputStream open(long offset, int limit);
+    }
+
+    private final PageSource source;
+    private final int pageSize;
+    private final ExecutorService prefetcher;
+
+    private long nextOffset;
+    private CompletableFuture<InputStream> nextPage;
+    private JsonParser parser;
+    private int readInPage;
+    private Todo next;
+    private boolean lastPage;
+
+    public TodoPageReader(PageSource source, int pageSize, boolean prefetch) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetcher = prefetch ? Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "todo-page-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public static Stream<Todo> stream(PageSource source, int pageSize, boolean prefetch) {
+        TodoPageReader reader = new TodoPageReader(source, pageSize, prefetch);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(reader::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = advance();
+        return next != null;
+    }
+
+    @Override
+    public Todo next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Todo todo = next;
+        next = null;
+        return todo;
+    }
+
+    @Override
+    public void close() {
+        closeParser();
+        if (nextPage != null) {
+            // cancel() would drop a body that a running fetch still returns; close it when it arrives
+            nextPage.whenComplete((page, e) -> {
+                if (page != null) closeQuietly(page);
+            });
+            nextPage = null;
+        }
+        if (prefetcher != null) prefetcher.shutdownNow();
+    }
+
+    private Todo advance() {
+        try {
+            while (true) {
+                if (parser == null) {
+                    if (lastPage) return null;
+                    openPage();
+                }
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readInPage++;
+                    return MAPPER.readValue(parser, Todo.class);
+                }
+                lastPage = readInPage < pageSize;
+                closeParser();
+                if (lastPage) close();
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Failed to read todos at offset " + (nextOffset - pageSize), e);
+        }
+    }
+
+    private void openPage() throws IOException {
+        InputStream body = nextPage != null ? await(nextPage) : source.open(nextOffset, pageSize);
+        nextOffset += pageSize;
+        nextPage = prefetcher == null ? null : fetchAsync(nextOffset);
+
+        parser = MAPPER.getFactory().createParser(body);
+        readInPage = 0;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of todos but got " + parser.currentToken());
+        }
+    }
+
+    private CompletableFuture<InputStream> fetchAsync(long offset) {
+        return CompletableFuture.supplyAsync(() -> source.open(offset, pageSize), prefetcher);
+    }
+
+    private static InputStream await(CompletableFuture<InputStream> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the next page", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("Failed to fetch the next page", e.getCause());
+        }
+    }
+
+    private void closeParser() {
+        if (parser == null) return;
+        closeQuietly(parser);
+        parser = null;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
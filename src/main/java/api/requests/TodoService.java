@@ -8,23 +8,43 @@ import io.restassured.specification.RequestSpecification;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.http.HttpStatus;
+import utils.collections.ConcurrentLongSet;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Getter
 @Setter
 public class TodoService implements CrudInterface {
     public static final String TODOS_END_POINT = "/todos";
 
-    private List<Long> createdTodos = new ArrayList<>();
+    private ConcurrentLongSet createdTodos = new ConcurrentLongSet();
+    private RequestSpecification requestSpec;
+
+    public TodoService() {
+        this(Specifications.unAuthSpec());
+    }
+
+    public TodoService(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+    }
+
+    // Built once and reused for every call, without logging filters
+    public static TodoService performance() {
+        return new TodoService(Specifications.performanceUnAuthSpec());
+    }
+
+    // RestAssured blocks, so the calls run on maxInFlight threads behind futures
+    public AsyncCrudInterface async(int maxInFlight) {
+        return new AsyncCrudAdapter(this, maxInFlight);
+    }
 
     @Override
     public void create(Todo todo, int httpStatus) {
         RestAssured
                 .given()
-                .spec(Specifications.unAuthSpec())
+                .spec(requestSpec)
                 .body(todo)
                 .when()
                 .post(TODOS_END_POINT)
@@ -39,7 +59,7 @@ public class TodoService implements CrudInterface {
         return RestAssured
                 .given()
                 .queryParams(queryParams)
-                .spec(Specifications.unAuthSpec())
+                .spec(requestSpec)
                 .when()
                 .get(TODOS_END_POINT)
                 .then()
@@ -48,11 +68,26 @@ public class TodoService implements CrudInterface {
                 .as(new TypeRef<List<Todo>>() {});
     }
 
+    // Pages through the store instead of extracting it into one List; close the stream when done
+    public Stream<Todo> readAll(int pageSize, boolean prefetch) {
+        return TodoPageReader.stream((offset, limit) -> RestAssured
+                .given()
+                .queryParam("offset", offset)
+                .queryParam("limit", limit)
+                .spec(requestSpec)
+                .when()
+                .get(TODOS_END_POINT)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .extract()
+                .asInputStream(), pageSize, prefetch);
+    }
+
     @Override
     public void update(long id, Todo todo, int httpStatus) {
         RestAssured
                 .given()
-                .spec(Specifications.unAuthSpec())
+                .spec(requestSpec)
                 .body(todo)
                 .when()
                 .put(TODOS_END_POINT + "/" + id)
@@ -69,5 +104,7 @@ public class TodoService implements CrudInterface {
                 .delete(TODOS_END_POINT + "/" + id)
                 .then()
                 .statusCode(httpStatus);
+
+        if (httpStatus == HttpStatus.SC_NO_CONTENT) createdTodos.remove(id);
     }
 }
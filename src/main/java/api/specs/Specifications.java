@@ -4,15 +4,27 @@ import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
 import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 import static io.restassured.RestAssured.preemptive;
 
 public class Specifications {
     private static RequestSpecBuilder reqBuilder() {
-        var requestBuilder = new RequestSpecBuilder();
+        var requestBuilder = quietReqBuilder();
         requestBuilder.addFilter(new RequestLoggingFilter());
         requestBuilder.addFilter(new ResponseLoggingFilter());
+        return requestBuilder;
+    }
+
+    // No logging filters: console I/O would otherwise dominate the timed region of performance tests
+    private static RequestSpecBuilder quietReqBuilder() {
+        var requestBuilder = new RequestSpecBuilder();
         requestBuilder.setContentType(ContentType.JSON);
         requestBuilder.setAccept(ContentType.JSON);
         return requestBuilder;
@@ -34,4 +46,26 @@ public class Specifications {
         requestBuilder.setAuth(preemptive().basic("user", "user"));
         return requestBuilder.build();
     }
+
+    public static RequestSpecification performanceUnAuthSpec() {
+        return quietReqBuilder().build();
+    }
+
+    public static RequestSpecification performanceAuthSpec() {
+        var requestBuilder = quietReqBuilder();
+        requestBuilder.setAuth(preemptive().basic("admin", "admin"));
+        return requestBuilder.build();
+    }
+
+    // Authorization header equivalent of a spec, so clients outside RestAssured can reuse the same specs
+    public static String authorizationHeader(RequestSpecification spec) {
+        AuthenticationScheme auth = SpecificationQuerier.query(spec).getAuthenticationScheme();
+        if (!(auth instanceof PreemptiveBasicAuthScheme)) {
+            return null;
+        }
+
+        var basic = (PreemptiveBasicAuthScheme) auth;
+        String credentials = basic.getUserName() + ":" + basic.getPassword();
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
 }
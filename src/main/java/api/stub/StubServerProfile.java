@@ -0,0 +1,29 @@
+package api.stub;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Builder
+public class StubServerProfile {
+    // 0 picks a free port
+    @Builder.Default
+    private int port = 0;
+    @Builder.Default
+    private int threads = 16;
+    // Added to every request before it is handled, plus a uniform random share of latencyJitter
+    @Builder.Default
+    private Duration latency = Duration.ZERO;
+    @Builder.Default
+    private Duration latencyJitter = Duration.ZERO;
+    // Share of requests answered with errorStatus without touching the store
+    @Builder.Default
+    private double errorRate = 0;
+    @Builder.Default
+    private int errorStatus = 500;
+    // Access and debug lines in the todo-app log format, none when null
+    private Path accessLog;
+}
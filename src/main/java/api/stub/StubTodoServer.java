@@ -0,0 +1,351 @@
+package api.stub;
+
+import api.models.Todo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static api.requests.TodoService.TODOS_END_POINT;
+
+/**
+ * In-process stand-in for the todo-app container with the same observable behaviour,
+ * quirks included: a malformed PUT body is answered 401, a malformed id 404, GET /todos/:id 405,
+ * bodies above 16 KiB 413 and DELETE needs Basic admin:admin. Todos keep insertion order
+ * like the app does, so offset/limit pages match.
+ */
+public class StubTodoServer implements AutoCloseable {
+    public static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final String ADMIN_AUTHORIZATION = "Basic YWRtaW46YWRtaW4=";
+    private static final byte[] EMPTY = new byte[0];
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter LOG_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'").withZone(ZoneOffset.UTC);
+
+    static {
+        // Headers and body go out in separate writes; with Nagle on, each response waits for a delayed ACK (~40 ms)
+        setDefault("sun.net.httpserver.nodelay", "true");
+        // Above 200 idle connections HttpServer closes every connection right after its response,
+        // which races the client's next request on it; clients with hundreds of requests in flight get there
+        setDefault("sun.net.httpserver.maxIdleConnections", "100000");
+    }
+
+    private final StubServerProfile profile;
+    private final Map<Long, Todo> todos = new LinkedHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BufferedWriter accessLog;
+
+    public StubTodoServer(StubServerProfile profile) {
+        this.profile = profile;
+        try {
+            accessLog = profile.getAccessLog() == null ? null : Files.newBufferedWriter(profile.getAccessLog());
+            server = HttpServer.create(new InetSocketAddress("localhost", profile.getPort()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the stub todo server", e);
+        }
+        executor = Executors.newFixedThreadPool(profile.getThreads());
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static StubTodoServer start() {
+        return new StubTodoServer(StubServerProfile.builder().build());
+    }
+
+    public String baseUri() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return todos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            todos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (accessLog != null) {
+            synchronized (accessLog) {
+                try {
+                    accessLog.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        int status;
+        byte[] body = EMPTY;
+        try (exchange) {
+            injectLatency();
+            Response response = injectError() ? new Response(profile.getErrorStatus()) : route(exchange);
+            // HttpServer resets the kept-alive connection when a request body is left unread
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            status = response.status;
+            body = response.body;
+            if (body.length > 0) exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) exchange.getResponseBody().write(body);
+        }
+        logAccess(exchange, status, System.nanoTime() - start);
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getRawPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals(TODOS_END_POINT)) {
+            switch (method) {
+                case "GET":
+                    return list(exchange.getRequestURI().getRawQuery());
+                case "POST":
+                    return create(exchange);
+                default:
+                    return new Response(HttpStatus.SC_METHOD_NOT_ALLOWED);
+            }
+        }
+        if (!path.startsWith(TODOS_END_POINT + "/")) return new Response(HttpStatus.SC_NOT_FOUND);
+
+        Long id = parseId(path.substring(TODOS_END_POINT.length() + 1));
+        if (id == null) return new Response(HttpStatus.SC_NOT_FOUND);
+        switch (method) {
+            case "PUT":
+                return update(id, exchange);
+            case "DELETE":
+                return delete(id, exchange.getRequestHeaders().getFirst("Authorization"));
+            default:
+                return new Response(HttpStatus.SC_METHOD_NOT_ALLOWED);
+        }
+    }
+
+    private Response list(String query) {
+        long offset = 0;
+        long limit = Long.MAX_VALUE;
+        Map<String, String> params = parseQuery(query);
+        try {
+            if (params.containsKey("offset")) offset = Long.parseUnsignedLong(params.get("offset"));
+            if (params.containsKey("limit")) limit = Long.parseUnsignedLong(params.get("limit"));
+        } catch (NumberFormatException e) {
+            return new Response(HttpStatus.SC_BAD_REQUEST);
+        }
+        if (offset < 0 || limit < 0) return new Response(HttpStatus.SC_BAD_REQUEST);
+
+        List<Todo> page = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Iterator<Todo> iterator = todos.values().iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (page.size() < limit && iterator.hasNext()) {
+                page.add(iterator.next());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Response(HttpStatus.SC_OK, toJson(page));
+    }
+
+    private Response create(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        if (body == null) return new Response(HttpStatus.SC_REQUEST_TOO_LONG);
+        Todo todo = parseTodo(body);
+        if (todo == null) return new Response(HttpStatus.SC_BAD_REQUEST);
+
+        logLine("DEBUG create_todo: Todo { id: " + todo.getId() + ", text: " + debugString(todo.getText())
+                + ", completed: " + todo.isCompleted() + " }");
+        lock.writeLock().lock();
+        try {
+            if (todos.containsKey(todo.getId())) return new Response(HttpStatus.SC_BAD_REQUEST);
+            todos.put(todo.getId(), todo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Response(HttpStatus.SC_CREATED);
+    }
+
+    private Response update(long id, HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        if (body == null) return new Response(HttpStatus.SC_REQUEST_TOO_LONG);
+        Todo todo = parseTodo(body);
+        // The app answers an undecodable PUT body with 401 instead of 400
+        if (todo == null) return new Response(HttpStatus.SC_UNAUTHORIZED);
+
+        lock.writeLock().lock();
+        try {
+            if (!todos.containsKey(id)) return new Response(HttpStatus.SC_NOT_FOUND);
+            todos.put(id, todo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Response(HttpStatus.SC_OK);
+    }
+
+    private Response delete(long id, String authorization) {
+        if (!ADMIN_AUTHORIZATION.equals(authorization)) return new Response(HttpStatus.SC_UNAUTHORIZED);
+
+        logLine("DEBUG delete_todo: id=" + id);
+        lock.writeLock().lock();
+        try {
+            return new Response(todos.remove(id) != null ? HttpStatus.SC_NO_CONTENT : HttpStatus.SC_NOT_FOUND);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void injectLatency() {
+        long nanos = profile.getLatency().toNanos();
+        long jitter = profile.getLatencyJitter().toNanos();
+        if (jitter > 0) nanos += ThreadLocalRandom.current().nextLong(jitter);
+        if (nanos > 0) LockSupport.parkNanos(nanos);
+    }
+
+    private boolean injectError() {
+        return profile.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < profile.getErrorRate();
+    }
+
+    // null when the body is over the limit
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    // null unless the body has an unsigned integer id, a string text and a boolean completed
+    private static Todo parseTodo(byte[] body) {
+        try {
+            JsonNode node = MAPPER.readTree(body);
+            if (node == null || !node.isObject()) return null;
+            JsonNode id = node.get("id");
+            JsonNode text = node.get("text");
+            JsonNode completed = node.get("completed");
+            if (id == null || !id.canConvertToExactIntegral() || !id.canConvertToLong() || id.longValue() < 0
+                    || text == null || !text.isTextual() || completed == null || !completed.isBoolean()) {
+                return null;
+            }
+            return new Todo(id.longValue(), text.textValue(), completed.booleanValue());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) System.setProperty(property, value);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            long id = Long.parseUnsignedLong(value);
+            return id >= 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static byte[] toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value, e);
+        }
+    }
+
+    private static String debugString(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void logAccess(HttpExchange exchange, int status, long durationNanos) {
+        if (accessLog == null) return;
+        InetSocketAddress remote = exchange.getRemoteAddress();
+        String userAgent = exchange.getRequestHeaders().getFirst("User-Agent");
+        String target = exchange.getRequestURI().getRawQuery() == null
+                ? exchange.getRequestURI().getRawPath()
+                : exchange.getRequestURI().getRawPath() + "?" + exchange.getRequestURI().getRawQuery();
+        logLine(String.format(Locale.ROOT, " INFO %s:%d \"%s %s %s\" %d \"-\" \"%s\" %.3fµs",
+                remote.getAddress().getHostAddress(), remote.getPort(), exchange.getRequestMethod(), target,
+                exchange.getProtocol(), status, userAgent == null ? "-" : userAgent, durationNanos / 1000.0));
+    }
+
+    private void logLine(String line) {
+        if (accessLog == null) return;
+        synchronized (accessLog) {
+            try {
+                accessLog.write(LOG_TIMESTAMP.format(Instant.now()) + " " + line);
+                accessLog.newLine();
+                accessLog.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write the stub access log", e);
+            }
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final byte[] body;
+
+        Response(int status) {
+            this(status, EMPTY);
+        }
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
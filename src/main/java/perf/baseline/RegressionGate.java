@@ -0,0 +1,162 @@
+package perf.baseline;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import perf.stats.LatencyHistogram;
+import perf.stats.MannWhitney;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists every run summary to {@code resultsDir/<name>.json} and compares it with the summary of the same
+ * name in {@code baselineDir}. With {@code updateBaseline} the run replaces the baseline instead of being checked.
+ * Runs without a baseline file pass, so a new test only starts gating once its baseline is recorded.
+ */
+public class RegressionGate {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final Path resultsDir;
+    private final Path baselineDir;
+    private final boolean updateBaseline;
+    private final RegressionThresholds thresholds;
+
+    public RegressionGate(Path resultsDir, Path baselineDir, boolean updateBaseline, RegressionThresholds thresholds) {
+        this.resultsDir = resultsDir;
+        this.baselineDir = baselineDir;
+        this.updateBaseline = updateBaseline;
+        this.thresholds = thresholds;
+    }
+
+    // -Dperf.results.dir (target/perf-results), -Dperf.baseline.dir (perf-baseline), -Dperf.baseline.update,
+    // -Dperf.baseline.alpha and -Dperf.baseline.tolerance, which scales the default percentile and throughput tolerances
+    public static RegressionGate fromSystemProperties() {
+        RegressionThresholds defaults = RegressionThresholds.builder().build();
+        double scale = Double.parseDouble(System.getProperty("perf.baseline.tolerance", "1"));
+        RegressionThresholds thresholds = RegressionThresholds.builder()
+                .p50Tolerance(defaults.getP50Tolerance() * scale)
+                .p90Tolerance(defaults.getP90Tolerance() * scale)
+                .p99Tolerance(defaults.getP99Tolerance() * scale)
+                .throughputTolerance(defaults.getThroughputTolerance() * scale)
+                .alpha(Double.parseDouble(System.getProperty("perf.baseline.alpha", Double.toString(defaults.getAlpha()))))
+                .build();
+        return new RegressionGate(
+                Path.of(System.getProperty("perf.results.dir", "target/perf-results")),
+                Path.of(System.getProperty("perf.baseline.dir", "perf-baseline")),
+                Boolean.getBoolean("perf.baseline.update"),
+                thresholds);
+    }
+
+    /**
+     * @throws AssertionError listing every regressed metric
+     */
+    public void verify(RunSummary current) {
+        List<String> regressions = check(current);
+        if (!regressions.isEmpty()) {
+            throw new AssertionError(current.getName() + " regressed against " + baselineFile(current.getName())
+                    + ":\n  " + String.join("\n  ", regressions));
+        }
+    }
+
+    /**
+     * Writes the run and returns the regressed metrics, empty when there is nothing to compare with.
+     */
+    public List<String> check(RunSummary current) {
+        write(resultsDir, current);
+        Path baselineFile = baselineFile(current.getName());
+        if (updateBaseline) {
+            write(baselineDir, current);
+            System.out.println(current.getName() + " baseline updated: " + baselineFile);
+            return List.of();
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println(current.getName() + " has no baseline at " + baselineFile + ", not compared");
+            return List.of();
+        }
+        return compare(read(baselineFile), current);
+    }
+
+    public List<String> compare(RunSummary baseline, RunSummary current) {
+        List<String> regressions = new ArrayList<>();
+        LatencyHistogram before = baseline.decodeHistogram();
+        LatencyHistogram after = current.decodeHistogram();
+        MannWhitney.Result test = MannWhitney.test(before, after);
+        boolean enoughSamples = before.getTotalCount() >= thresholds.getMinSamples()
+                && after.getTotalCount() >= thresholds.getMinSamples();
+        boolean shifted = enoughSamples && test.getPValue() < thresholds.getAlpha();
+
+        System.out.printf("%s vs baseline: Mann-Whitney z=%.2f p=%.3g P(slower)=%.3f%s%n", current.getName(),
+                test.getZ(), test.getPValue(), test.getProbabilityOfSuperiority(),
+                enoughSamples ? "" : " (too few samples to gate)");
+        for (double percentile : PERCENTILES) {
+            long was = before.valueAtPercentile(percentile);
+            long is = after.valueAtPercentile(percentile);
+            double change = was > 0 ? (double) (is - was) / was : 0;
+            boolean regressed = shifted && change > tolerance(percentile)
+                    && is - was > thresholds.getNoiseFloor().toNanos();
+            System.out.printf("  p%-4s %12.1f -> %12.1f µs  %+7.1f%%%s%n", format(percentile), was / 1000.0,
+                    is / 1000.0, change * 100, regressed ? "  REGRESSED" : "");
+            if (regressed) {
+                regressions.add(String.format("p%s %.1f µs -> %.1f µs (%+.1f%%, tolerance %.0f%%, Mann-Whitney p=%.3g)",
+                        format(percentile), was / 1000.0, is / 1000.0, change * 100, tolerance(percentile) * 100,
+                        test.getPValue()));
+            }
+        }
+
+        if (baseline.getThroughput() > 0 && current.getThroughput() > 0) {
+            double change = (current.getThroughput() - baseline.getThroughput()) / baseline.getThroughput();
+            boolean regressed = enoughSamples && -change > thresholds.getThroughputTolerance();
+            System.out.printf("  rate  %12.1f -> %12.1f /s  %+7.1f%%%s%n", baseline.getThroughput(),
+                    current.getThroughput(), change * 100, regressed ? "  REGRESSED" : "");
+            if (regressed) {
+                regressions.add(String.format("throughput %.1f/s -> %.1f/s (%+.1f%%, tolerance %.0f%%)",
+                        baseline.getThroughput(), current.getThroughput(), change * 100,
+                        thresholds.getThroughputTolerance() * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private double tolerance(double percentile) {
+        if (percentile <= 50) return thresholds.getP50Tolerance();
+        if (percentile <= 90) return thresholds.getP90Tolerance();
+        return thresholds.getP99Tolerance();
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private Path baselineFile(String name) {
+        return baselineDir.resolve(fileName(name));
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_") + ".json";
+    }
+
+    private static void write(Path dir, RunSummary summary) {
+        try {
+            Files.createDirectories(dir);
+            MAPPER.writeValue(dir.resolve(fileName(summary.getName())).toFile(), summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the run summary to " + dir, e);
+        }
+    }
+
+    private static RunSummary read(Path file) {
+        try {
+            return MAPPER.readValue(file.toFile(), RunSummary.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the baseline " + file, e);
+        }
+    }
+}
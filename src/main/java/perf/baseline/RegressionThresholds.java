@@ -0,0 +1,33 @@
+package perf.baseline;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A percentile counts as regressed only when all three hold: it grew by more than its relative tolerance,
+ * by more than the noise floor in absolute terms, and the Mann-Whitney test says the whole distribution
+ * moved towards slower values at significance {@code alpha}. Throughput regresses when it drops by more
+ * than {@code throughputTolerance}.
+ */
+@Getter
+@Builder
+public class RegressionThresholds {
+    @Builder.Default
+    private double p50Tolerance = 0.10;
+    @Builder.Default
+    private double p90Tolerance = 0.15;
+    @Builder.Default
+    private double p99Tolerance = 0.25;
+    @Builder.Default
+    private double throughputTolerance = 0.10;
+    @Builder.Default
+    private double alpha = 0.01;
+    // Deltas below this are timer and scheduler noise whatever their relative size
+    @Builder.Default
+    private Duration noiseFloor = Duration.ofNanos(20_000);
+    // Smaller runs are recorded and printed but never fail the gate
+    @Builder.Default
+    private long minSamples = 30;
+}
@@ -0,0 +1,53 @@
+package perf.baseline;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import perf.stats.LatencyHistogram;
+
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * What one measured run leaves behind: the full latency histogram (base64 of {@link LatencyHistogram#toByteArray()})
+ * and the throughput. The percentile fields are there for people reading the file; comparisons use the histogram.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RunSummary {
+    private String name;
+    private String recordedAt;
+    private long count;
+    private long errors;
+    // Requests per second, 0 when the run has no meaningful rate (e.g. a sequential client)
+    private double throughput;
+    private double meanMicros;
+    private double p50Micros;
+    private double p90Micros;
+    private double p99Micros;
+    private double maxMicros;
+    private String histogram;
+
+    public static RunSummary of(String name, LatencyHistogram times, double throughput, long errors) {
+        return RunSummary.builder()
+                .name(name)
+                .recordedAt(Instant.now().toString())
+                .count(times.getTotalCount())
+                .errors(errors)
+                .throughput(throughput)
+                .meanMicros(times.getMean() / 1000.0)
+                .p50Micros(times.valueAtPercentile(50) / 1000.0)
+                .p90Micros(times.valueAtPercentile(90) / 1000.0)
+                .p99Micros(times.valueAtPercentile(99) / 1000.0)
+                .maxMicros(times.getMaxValue() / 1000.0)
+                .histogram(Base64.getEncoder().encodeToString(times.toByteArray()))
+                .build();
+    }
+
+    public LatencyHistogram decodeHistogram() {
+        return LatencyHistogram.fromByteArray(Base64.getDecoder().decode(histogram));
+    }
+}
@@ -0,0 +1,49 @@
+package perf.load;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request client timings captured during a load run, kept in preallocated primitive arrays.
+ * Keys are the sequence numbers handed to the operation, which the POST tests use as todo ids.
+ * Requests beyond the capacity are counted but not stored.
+ */
+public class ClientTimings {
+    private final long[] keys;
+    private final long[] nanos;
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startEpochNanos;
+
+    public ClientTimings(int capacity) {
+        this.keys = new long[capacity];
+        this.nanos = new long[capacity];
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000;
+    }
+
+    public void record(long key, long elapsedNanos) {
+        int index = size.getAndIncrement();
+        if (index < keys.length) {
+            keys[index] = key;
+            nanos[index] = elapsedNanos;
+        }
+    }
+
+    public int size() {
+        return Math.min(size.get(), keys.length);
+    }
+
+    public int dropped() {
+        return Math.max(0, size.get() - keys.length);
+    }
+
+    public long key(int index) {
+        return keys[index];
+    }
+
+    public long nanos(int index) {
+        return nanos[index];
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+}
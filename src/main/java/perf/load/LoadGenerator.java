@@ -0,0 +1,136 @@
+package perf.load;
+
+import perf.stats.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-loop load generator: request N is due at {@code start + N * interval} no matter
+ * how long earlier requests take, so the arrival rate stays constant while the server saturates.
+ * Response time is measured from the intended start, not from the moment a worker got to send,
+ * so a stalled server is charged for the requests queued behind the stall (coordinated omission).
+ * Service time, measured from the actual send, is recorded alongside for comparison.
+ * The sequence number passed to the operation is unique and can be used as a todo id.
+ */
+public class LoadGenerator {
+    private static final long START_DELAY_NANOS = 10_000_000;
+
+    private final LoadProfile profile;
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public LoadReport run(LongConsumer operation) {
+        return run(operation, null);
+    }
+
+    /**
+     * @param timings receives the service time of every measured request, may be null
+     */
+    public LoadReport run(LongConsumer operation, ClientTimings timings) {
+        long warmUpRequests = profile.warmUpRequests();
+        long totalRequests = warmUpRequests + profile.measuredRequests();
+        double intervalNanos = profile.intervalNanos();
+        long startNanos = System.nanoTime() + START_DELAY_NANOS;
+        AtomicLong sequence = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(profile.getWorkers());
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < profile.getWorkers(); i++) {
+            Worker worker = new Worker(operation, timings, sequence, totalRequests, warmUpRequests,
+                    startNanos, intervalNanos);
+            futures.add(executor.submit(worker, worker));
+        }
+
+        LoadReport report = new LoadReport(profile, startNanos + (long) (warmUpRequests * intervalNanos));
+        try {
+            for (Future<Worker> future : futures) {
+                report.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Load run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    static class Worker implements Runnable {
+        private final LongConsumer operation;
+        private final ClientTimings timings;
+        private final AtomicLong sequence;
+        private final long totalRequests;
+        private final long warmUpRequests;
+        private final long startNanos;
+        private final double intervalNanos;
+
+        final LatencyHistogram responseTime = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        long completed;
+        long errors;
+        long maxStartLagNanos;
+        long lastEndNanos;
+        String firstError;
+
+        Worker(LongConsumer operation, ClientTimings timings, AtomicLong sequence, long totalRequests,
+               long warmUpRequests, long startNanos, double intervalNanos) {
+            this.operation = operation;
+            this.timings = timings;
+            this.sequence = sequence;
+            this.totalRequests = totalRequests;
+            this.warmUpRequests = warmUpRequests;
+            this.startNanos = startNanos;
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public void run() {
+            long seq;
+            while ((seq = sequence.getAndIncrement()) < totalRequests) {
+                long intendedNanos = startNanos + (long) (seq * intervalNanos);
+                waitUntil(intendedNanos);
+
+                long sendNanos = System.nanoTime();
+                boolean failed = false;
+                try {
+                    operation.accept(seq);
+                } catch (Exception | AssertionError e) {
+                    failed = true;
+                    if (firstError == null) firstError = e.toString();
+                }
+                long endNanos = System.nanoTime();
+
+                if (seq < warmUpRequests) continue;
+                responseTime.record(endNanos - intendedNanos);
+                serviceTime.record(endNanos - sendNanos);
+                if (timings != null && !failed) timings.record(seq, endNanos - sendNanos);
+                maxStartLagNanos = Math.max(maxStartLagNanos, sendNanos - intendedNanos);
+                lastEndNanos = Math.max(lastEndNanos, endNanos);
+                if (failed) {
+                    errors++;
+                } else {
+                    completed++;
+                }
+            }
+        }
+
+        private static void waitUntil(long deadlineNanos) {
+            long remaining;
+            while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package perf.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+public class LoadProfile {
+    @Builder.Default
+    private int targetRps = 100;
+    @Builder.Default
+    private int workers = 8;
+    @Builder.Default
+    private Duration warmUp = Duration.ofSeconds(5);
+    @Builder.Default
+    private Duration duration = Duration.ofSeconds(30);
+    @Builder.Default
+    private boolean reportServiceTime = false;
+
+    public double intervalNanos() {
+        return 1_000_000_000.0 / targetRps;
+    }
+
+    public long warmUpRequests() {
+        return (long) (warmUp.toNanos() / intervalNanos());
+    }
+
+    public long measuredRequests() {
+        return (long) (duration.toNanos() / intervalNanos());
+    }
+}
@@ -0,0 +1,54 @@
+package perf.load;
+
+import lombok.Getter;
+import perf.stats.LatencyHistogram;
+
+@Getter
+public class LoadReport {
+    private final int targetRps;
+    private final int workers;
+    private final long measurementStartNanos;
+    private long measurementEndNanos;
+    private long completed;
+    private long errors;
+    private long maxStartLagNanos;
+    private String firstError;
+    private final boolean reportServiceTime;
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    LoadReport(LoadProfile profile, long measurementStartNanos) {
+        this.targetRps = profile.getTargetRps();
+        this.workers = profile.getWorkers();
+        this.reportServiceTime = profile.isReportServiceTime();
+        this.measurementStartNanos = measurementStartNanos;
+        this.measurementEndNanos = measurementStartNanos;
+    }
+
+    void add(LoadGenerator.Worker worker) {
+        completed += worker.completed;
+        errors += worker.errors;
+        maxStartLagNanos = Math.max(maxStartLagNanos, worker.maxStartLagNanos);
+        measurementEndNanos = Math.max(measurementEndNanos, worker.lastEndNanos);
+        if (firstError == null) firstError = worker.firstError;
+        responseTime.add(worker.responseTime);
+        serviceTime.add(worker.serviceTime);
+    }
+
+    public double achievedRps() {
+        long elapsedNanos = measurementEndNanos - measurementStartNanos;
+        return elapsedNanos > 0 ? (completed + errors) * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    public void print(String label) {
+        System.out.println(label + " target RPS: " + targetRps + ", workers: " + workers);
+        System.out.printf("%s achieved RPS: %.1f%n", label, achievedRps());
+        System.out.println(label + " completed: " + completed + ", errors: " + errors
+                + (firstError != null ? " (first: " + firstError + ")" : ""));
+        System.out.printf("%s max start lag: %.1f µs%n", label, maxStartLagNanos / 1000.0);
+        System.out.println(label + " response time: " + responseTime.summary());
+        if (reportServiceTime) {
+            System.out.println(label + " service time: " + serviceTime.summary());
+        }
+    }
+}
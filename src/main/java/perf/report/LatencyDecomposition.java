@@ -0,0 +1,91 @@
+package perf.report;
+
+import perf.load.ClientTimings;
+import perf.stats.LatencyHistogram;
+import utils.collections.LongLongHashMap;
+import utils.log.AccessLogReader;
+import utils.log.CreateRequest;
+import utils.log.CreateRequestCorrelator;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the client-measured time of each POST into the server time from the todo-app log and
+ * everything else (connection setup, serialization, network, client filters), matched by todo id.
+ * The server lines are paired by {@link CreateRequestCorrelator}, so the timed POSTs must have been sent
+ * by a single worker. Log lines from more than a second before the timings started are skipped; overlapping
+ * creates from an earlier test that still fall inside that second are orphaned, never fatal, and a timed
+ * request whose lines were orphaned is counted as unmatched.
+ */
+public class LatencyDecomposition {
+    private static final int MAX_PENDING = 4096;
+    private static final long MAX_GAP_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long CLOCK_SKEW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LatencyHistogram client = new LatencyHistogram();
+    private final LatencyHistogram server = new LatencyHistogram();
+    private final LatencyHistogram overhead = new LatencyHistogram();
+    private long unmatched;
+    private long dropped;
+
+    public static LatencyDecomposition build(ClientTimings timings, Path serverLog) {
+        LongLongHashMap serverNanosById = new LongLongHashMap(timings.size());
+        long notBefore = timings.getStartEpochNanos() - CLOCK_SKEW_NANOS;
+        CreateRequestCorrelator correlator = new CreateRequestCorrelator(MAX_PENDING, MAX_GAP_NANOS, request -> {
+            if (request.getKind() == CreateRequest.Kind.MATCHED) {
+                serverNanosById.put(request.getTodoId(), request.getDurationNanos());
+            }
+        });
+        AccessLogReader.forEachLine(serverLog, (type, record) -> {
+            if (record.getTimestampNanos() >= notBefore) correlator.accept(type, record);
+        });
+        correlator.finish();
+
+        LatencyDecomposition decomposition = new LatencyDecomposition();
+        decomposition.dropped = timings.dropped();
+        for (int i = 0; i < timings.size(); i++) {
+            long serverNanos = serverNanosById.get(timings.key(i), -1);
+            if (serverNanos < 0) {
+                decomposition.unmatched++;
+                continue;
+            }
+            long clientNanos = timings.nanos(i);
+            decomposition.client.record(clientNanos);
+            decomposition.server.record(serverNanos);
+            decomposition.overhead.record(clientNanos - serverNanos);
+        }
+        return decomposition;
+    }
+
+    public LatencyHistogram getClient() {
+        return client;
+    }
+
+    public LatencyHistogram getServer() {
+        return server;
+    }
+
+    public LatencyHistogram getOverhead() {
+        return overhead;
+    }
+
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void print(String label) {
+        System.out.println(label + " matched requests: " + client.getTotalCount() + ", without server line: " + unmatched
+                + (dropped > 0 ? ", beyond the timings capacity: " + dropped : ""));
+        System.out.println(label + " client total: " + client.summary());
+        System.out.println(label + " server:       " + server.summary());
+        System.out.println(label + " overhead:     " + overhead.summary());
+        if (client.getTotalCount() > 0) {
+            System.out.printf("%s server share of mean: %.1f%%%n", label, 100 * server.getMean() / client.getMean());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package perf.scenario;
+
+/**
+ * Picks an index in {@code [0, n)}; instances are used by a single worker and need not be thread-safe.
+ */
+@FunctionalInterface
+public interface KeyChooser {
+    int next(int n);
+}
@@ -0,0 +1,21 @@
+package perf.scenario;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public enum KeyDistribution {
+    UNIFORM {
+        @Override
+        public KeyChooser newChooser(double theta) {
+            return n -> ThreadLocalRandom.current().nextInt(n);
+        }
+    },
+    // Low indexes, i.e. the oldest keys, are the hot ones
+    ZIPFIAN {
+        @Override
+        public KeyChooser newChooser(double theta) {
+            return new ZipfianChooser(theta);
+        }
+    };
+
+    public abstract KeyChooser newChooser(double theta);
+}
@@ -0,0 +1,62 @@
+package perf.scenario;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids of the todos that currently exist, addressable by index so a {@link KeyChooser} can pick among them.
+ * Removal moves the last id into the freed slot. An id reserved for an update is never removed
+ * until it is released, so a concurrent delete cannot turn the update into a 404.
+ */
+class KeySpace {
+    static final long NO_KEY = -1;
+
+    private long[] ids;
+    private int size;
+    private final Map<Long, Integer> reserved = new HashMap<>();
+
+    KeySpace(int initialCapacity) {
+        ids = new long[Math.max(16, initialCapacity)];
+    }
+
+    synchronized void add(long id) {
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        ids[size++] = id;
+    }
+
+    // Several updates may hold the same id, each one has to release it
+    synchronized long reserve(KeyChooser chooser) {
+        if (size == 0) return NO_KEY;
+        long id = ids[chooser.next(size)];
+        reserved.merge(id, 1, Integer::sum);
+        return id;
+    }
+
+    synchronized void release(long id) {
+        reserved.computeIfPresent(id, (key, holders) -> holders == 1 ? null : holders - 1);
+    }
+
+    // Takes the chosen id or, when it is reserved, the next unreserved one; NO_KEY if every id is reserved
+    synchronized long remove(KeyChooser chooser) {
+        if (size == 0) return NO_KEY;
+        int index = chooser.next(size);
+        for (int probe = 0; probe < size; probe++) {
+            int i = (index + probe) % size;
+            long id = ids[i];
+            if (!reserved.containsKey(id)) {
+                ids[i] = ids[--size];
+                return id;
+            }
+        }
+        return NO_KEY;
+    }
+
+    synchronized int pickIndex(KeyChooser chooser) {
+        return size == 0 ? 0 : chooser.next(size);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,5 @@
+package perf.scenario;
+
+public enum Operation {
+    READ, CREATE, UPDATE, DELETE
+}
@@ -0,0 +1,63 @@
+package perf.scenario;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Closed-model workload: every worker picks an operation by weight, runs it against a key
+ * chosen by {@link #keyDistribution} and sleeps {@link #thinkTime} before the next one.
+ */
+@Getter
+@Builder
+public class Scenario {
+    @Builder.Default
+    private int readWeight = 70;
+    @Builder.Default
+    private int createWeight = 20;
+    @Builder.Default
+    private int updateWeight = 8;
+    @Builder.Default
+    private int deleteWeight = 2;
+    @Builder.Default
+    private KeyDistribution keyDistribution = KeyDistribution.UNIFORM;
+    @Builder.Default
+    private double zipfianTheta = 0.99;
+    @Builder.Default
+    private Duration thinkTime = Duration.ZERO;
+    @Builder.Default
+    private int workers = 8;
+    @Builder.Default
+    private Duration warmUp = Duration.ofSeconds(5);
+    @Builder.Default
+    private Duration duration = Duration.ofSeconds(30);
+    @Builder.Default
+    private int initialKeys = 1000;
+    @Builder.Default
+    private int readLimit = 10;
+
+    public int weight(Operation operation) {
+        switch (operation) {
+            case READ:
+                return readWeight;
+            case CREATE:
+                return createWeight;
+            case UPDATE:
+                return updateWeight;
+            default:
+                return deleteWeight;
+        }
+    }
+
+    // Weights written read/create/update/delete, e.g. "70/20/8/2"
+    public static ScenarioBuilder withMix(String mix) {
+        String[] weights = mix.split("/");
+        if (weights.length != 4) throw new IllegalArgumentException("Expected read/create/update/delete weights: " + mix);
+        return builder()
+                .readWeight(Integer.parseInt(weights[0].trim()))
+                .createWeight(Integer.parseInt(weights[1].trim()))
+                .updateWeight(Integer.parseInt(weights[2].trim()))
+                .deleteWeight(Integer.parseInt(weights[3].trim()));
+    }
+}
@@ -0,0 +1,86 @@
+package perf.scenario;
+
+import lombok.Getter;
+import perf.stats.LatencyHistogram;
+
+@Getter
+public class ScenarioReport {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Scenario scenario;
+    private final long measurementStartNanos;
+    private long measurementEndNanos;
+    private final long[] completed = new long[OPERATIONS.length];
+    private final long[] errors = new long[OPERATIONS.length];
+    private final LatencyHistogram[] latency = new LatencyHistogram[OPERATIONS.length];
+    private String firstError;
+
+    ScenarioReport(Scenario scenario, long measurementStartNanos) {
+        this.scenario = scenario;
+        this.measurementStartNanos = measurementStartNanos;
+        this.measurementEndNanos = measurementStartNanos;
+        for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LatencyHistogram();
+        }
+    }
+
+    void add(ScenarioRunner.Worker worker) {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            completed[i] += worker.completed[i];
+            errors[i] += worker.errors[i];
+            latency[i].add(worker.latency[i]);
+        }
+        measurementEndNanos = Math.max(measurementEndNanos, worker.lastEndNanos);
+        if (firstError == null) firstError = worker.firstError;
+    }
+
+    public LatencyHistogram latency(Operation operation) {
+        return latency[operation.ordinal()];
+    }
+
+    public long completed(Operation operation) {
+        return completed[operation.ordinal()];
+    }
+
+    public long errors(Operation operation) {
+        return errors[operation.ordinal()];
+    }
+
+    public long totalErrors() {
+        long total = 0;
+        for (long e : errors) {
+            total += e;
+        }
+        return total;
+    }
+
+    public double throughput(Operation operation) {
+        return perSecond(completed(operation) + errors(operation));
+    }
+
+    public double totalThroughput() {
+        long total = totalErrors();
+        for (long c : completed) {
+            total += c;
+        }
+        return perSecond(total);
+    }
+
+    public void print(String label) {
+        System.out.printf("%s mix read/create/update/delete: %d/%d/%d/%d, keys: %s, workers: %d, think time: %d ms%n",
+                label, scenario.getReadWeight(), scenario.getCreateWeight(), scenario.getUpdateWeight(),
+                scenario.getDeleteWeight(), scenario.getKeyDistribution(), scenario.getWorkers(),
+                scenario.getThinkTime().toMillis());
+        System.out.printf("%s total: %.1f ops/s, errors: %d%s%n", label, totalThroughput(), totalErrors(),
+                firstError != null ? " (first: " + firstError + ")" : "");
+        for (Operation operation : OPERATIONS) {
+            System.out.printf("%s %-6s %8.1f ops/s, errors: %d, latency: %s%n", label, operation,
+                    throughput(operation), errors(operation), latency(operation).summary());
+        }
+    }
+
+    private double perSecond(long count) {
+        long elapsedNanos = measurementEndNanos - measurementStartNanos;
+        return elapsedNanos > 0 ? count * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+}
@@ -0,0 +1,187 @@
+package perf.scenario;
+
+import api.generators.TestDataGenerator;
+import api.requests.CrudInterface;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpStatus;
+import perf.stats.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link Scenario} against a {@link CrudInterface}. The store is first filled with
+ * {@link Scenario#getInitialKeys()} todos; created and deleted ids are tracked so updates and deletes
+ * only target existing todos. Reads are GET /todos pages at an offset chosen by the same distribution.
+ */
+public class ScenarioRunner {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Scenario scenario;
+    private final CrudInterface client;
+    private final RequestSpecification deleteSpec;
+    private final KeySpace keys;
+    private final int[] cumulativeWeights = new int[OPERATIONS.length];
+
+    public ScenarioRunner(Scenario scenario, CrudInterface client, RequestSpecification deleteSpec) {
+        this.scenario = scenario;
+        this.client = client;
+        this.deleteSpec = deleteSpec;
+        this.keys = new KeySpace(scenario.getInitialKeys() * 2);
+        int total = 0;
+        for (Operation operation : OPERATIONS) {
+            total += scenario.weight(operation);
+            cumulativeWeights[operation.ordinal()] = total;
+        }
+        if (total <= 0) throw new IllegalArgumentException("At least one operation weight must be positive");
+    }
+
+    public ScenarioReport run() {
+        ExecutorService executor = Executors.newFixedThreadPool(scenario.getWorkers());
+        try {
+            List<Future<Object>> preload = new ArrayList<>();
+            for (int i = 0; i < scenario.getWorkers(); i++) {
+                int worker = i;
+                preload.add(executor.submit(() -> {
+                    for (int k = worker; k < scenario.getInitialKeys(); k += scenario.getWorkers()) {
+                        create();
+                    }
+                }, null));
+            }
+            await(preload);
+
+            long measureStart = System.nanoTime() + scenario.getWarmUp().toNanos();
+            long end = measureStart + scenario.getDuration().toNanos();
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int i = 0; i < scenario.getWorkers(); i++) {
+                Worker worker = new Worker(measureStart, end);
+                futures.add(executor.submit(worker, worker));
+            }
+
+            ScenarioReport report = new ScenarioReport(scenario, measureStart);
+            for (Worker worker : await(futures)) {
+                report.add(worker);
+            }
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Scenario run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Scenario worker failed", e.getCause());
+        }
+        return results;
+    }
+
+    private void create() {
+        long id = TestDataGenerator.nextId();
+        client.create(TestDataGenerator.generateTodo(id), HttpStatus.SC_CREATED);
+        keys.add(id);
+    }
+
+    private Operation nextOperation() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[OPERATIONS.length - 1]);
+        for (Operation operation : OPERATIONS) {
+            if (r < cumulativeWeights[operation.ordinal()]) return operation;
+        }
+        throw new IllegalStateException();
+    }
+
+    class Worker implements Runnable {
+        private final long measureStart;
+        private final long end;
+        private final KeyChooser chooser = scenario.getKeyDistribution().newChooser(scenario.getZipfianTheta());
+
+        final LatencyHistogram[] latency = new LatencyHistogram[OPERATIONS.length];
+        final long[] completed = new long[OPERATIONS.length];
+        final long[] errors = new long[OPERATIONS.length];
+        long lastEndNanos;
+        String firstError;
+
+        Worker(long measureStart, long end) {
+            this.measureStart = measureStart;
+            this.end = end;
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LatencyHistogram();
+            }
+        }
+
+        @Override
+        public void run() {
+            long thinkNanos = scenario.getThinkTime().toNanos();
+            long start;
+            while ((start = System.nanoTime()) < end) {
+                Operation operation = nextOperation();
+                long key = KeySpace.NO_KEY;
+                if (operation == Operation.UPDATE) {
+                    key = keys.reserve(chooser);
+                } else if (operation == Operation.DELETE) {
+                    key = keys.remove(chooser);
+                }
+                // updates and deletes turn into creates on an empty store, and are charged as creates
+                if ((operation == Operation.UPDATE || operation == Operation.DELETE) && key == KeySpace.NO_KEY) {
+                    operation = Operation.CREATE;
+                }
+
+                boolean failed = false;
+                try {
+                    execute(operation, key);
+                } catch (Exception | AssertionError e) {
+                    failed = true;
+                    if (firstError == null) firstError = operation + ": " + e;
+                } finally {
+                    if (operation == Operation.UPDATE) keys.release(key);
+                }
+                long finish = System.nanoTime();
+
+                if (start >= measureStart) {
+                    int i = operation.ordinal();
+                    latency[i].record(finish - start);
+                    if (failed) {
+                        errors[i]++;
+                    } else {
+                        completed[i]++;
+                    }
+                    lastEndNanos = finish;
+                }
+                if (thinkNanos > 0) LockSupport.parkNanos(thinkNanos);
+            }
+        }
+
+        private void execute(Operation operation, long key) {
+            switch (operation) {
+                case READ:
+                    int offset = keys.pickIndex(chooser);
+                    client.read(Map.of("offset", Integer.toString(offset),
+                            "limit", Integer.toString(scenario.getReadLimit())), HttpStatus.SC_OK);
+                    break;
+                case UPDATE:
+                    client.update(key, TestDataGenerator.generateTodo(key), HttpStatus.SC_OK);
+                    break;
+                case DELETE:
+                    client.delete(deleteSpec, key, HttpStatus.SC_NO_CONTENT);
+                    break;
+                default:
+                    create();
+                    break;
+            }
+        }
+    }
+}
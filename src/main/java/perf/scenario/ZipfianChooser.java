@@ -0,0 +1,47 @@
+package perf.scenario;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian ranks as generated by YCSB (Gray et al., "Quickly generating billion-record synthetic databases").
+ * The key space grows and shrinks during a run, so zeta(n) is adjusted by the terms
+ * between the old and the new n instead of being recomputed from scratch.
+ */
+class ZipfianChooser implements KeyChooser {
+    private final double theta;
+    private final double alpha;
+    private final double zeta2;
+    private int n;
+    private double zetaN;
+    private double eta;
+
+    ZipfianChooser(double theta) {
+        if (theta <= 0 || theta >= 1) throw new IllegalArgumentException("theta must be in (0, 1): " + theta);
+        this.theta = theta;
+        this.alpha = 1 / (1 - theta);
+        this.zeta2 = 1 + Math.pow(0.5, theta);
+    }
+
+    @Override
+    public int next(int n) {
+        if (n != this.n) resize(n);
+        if (n == 1) return 0;
+
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1) return 0;
+        if (uz < zeta2) return 1;
+        return Math.min(n - 1, (int) (n * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private void resize(int newN) {
+        for (int i = n + 1; i <= newN; i++) {
+            zetaN += 1 / Math.pow(i, theta);
+        }
+        for (int i = n; i > newN; i--) {
+            zetaN -= 1 / Math.pow(i, theta);
+        }
+        n = newN;
+        eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetaN);
+    }
+}
@@ -0,0 +1,168 @@
+package perf.stats;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log-linear histogram of non-negative values (nanoseconds by convention).
+ * Every power of two is split into {@code 2^(significantBits-1)} linear sub-buckets, so the
+ * relative error of a reported value is below {@code 2^-(significantBits-1)} and the memory
+ * footprint is fixed at construction. Recording never allocates; the class is not thread-safe,
+ * use one histogram per thread and {@link #add(LatencyHistogram)} them afterwards.
+ */
+public class LatencyHistogram {
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+    public static final int DEFAULT_SIGNIFICANT_BITS = 8;
+    private static final int MAGIC = 0x4C480001;
+
+    private final long highestTrackableValue;
+    private final int significantBits;
+    private final int halfBucketCount;
+    final long[] counts;
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+    private double sum;
+
+    public LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    public LatencyHistogram(long highestTrackableValue, int significantBits) {
+        if (significantBits < 2 || significantBits > 16) {
+            throw new IllegalArgumentException("significantBits must be in [2, 16]: " + significantBits);
+        }
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue must be >= 2: " + highestTrackableValue);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantBits = significantBits;
+        this.halfBucketCount = 1 << (significantBits - 1);
+        this.counts = new long[indexOf(highestTrackableValue) + 1];
+    }
+
+    public void record(long value) {
+        long clamped = Math.min(Math.max(value, 0), highestTrackableValue);
+        counts[indexOf(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        if (clamped < minValue) minValue = clamped;
+        if (clamped > maxValue) maxValue = clamped;
+    }
+
+    public void add(LatencyHistogram other) {
+        if (other.significantBits != significantBits || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Histograms have different layouts");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    int significantBits() {
+        return significantBits;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinValue() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.max(Math.min(highestEquivalentValue(i), maxValue), getMinValue());
+            }
+        }
+        return maxValue;
+    }
+
+    public String summary() {
+        return String.format("count=%d min=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f mean=%.1f (µs)",
+                totalCount, getMinValue() / 1000.0,
+                valueAtPercentile(50) / 1000.0, valueAtPercentile(90) / 1000.0,
+                valueAtPercentile(99) / 1000.0, valueAtPercentile(99.9) / 1000.0,
+                getMaxValue() / 1000.0, getMean() / 1000.0);
+    }
+
+    public byte[] toByteArray() {
+        int nonZero = 0;
+        for (long count : counts) {
+            if (count != 0) nonZero++;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 * 5 + 4 + nonZero * 12);
+        buffer.putInt(MAGIC)
+                .putInt(significantBits)
+                .putLong(highestTrackableValue)
+                .putLong(totalCount)
+                .putLong(minValue)
+                .putLong(maxValue)
+                .putDouble(sum)
+                .putInt(nonZero);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buffer.putInt(i).putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static LatencyHistogram fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized LatencyHistogram");
+        }
+        int significantBits = buffer.getInt();
+        LatencyHistogram histogram = new LatencyHistogram(buffer.getLong(), significantBits);
+        histogram.totalCount = buffer.getLong();
+        histogram.minValue = buffer.getLong();
+        histogram.maxValue = buffer.getLong();
+        histogram.sum = buffer.getDouble();
+        int nonZero = buffer.getInt();
+        for (int i = 0; i < nonZero; i++) {
+            histogram.counts[buffer.getInt()] = buffer.getLong();
+        }
+        return histogram;
+    }
+
+    private int indexOf(long value) {
+        if (value < (long) halfBucketCount << 1) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - significantBits;
+        return shift * halfBucketCount + (int) (value >>> shift);
+    }
+
+    private long highestEquivalentValue(int index) {
+        if (index < halfBucketCount << 1) return index;
+        int shift = index / halfBucketCount - 1;
+        long subBucket = index - (long) shift * halfBucketCount;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,78 @@
+package perf.stats;
+
+import lombok.Getter;
+
+/**
+ * Mann-Whitney U test on two histograms with the same layout. Values sharing a bucket count as ties,
+ * so ranks are assigned per bucket instead of per sample and the test costs one pass over the buckets.
+ * Uses the normal approximation with tie correction, which is accurate from a few dozen samples per side.
+ */
+public final class MannWhitney {
+    private MannWhitney() {
+    }
+
+    /**
+     * One-sided test of whether {@code current} is stochastically greater (slower) than {@code baseline}.
+     */
+    public static Result test(LatencyHistogram baseline, LatencyHistogram current) {
+        if (baseline.significantBits() != current.significantBits() || baseline.counts.length != current.counts.length) {
+            throw new IllegalArgumentException("Histograms have different layouts");
+        }
+        double n1 = baseline.getTotalCount();
+        double n2 = current.getTotalCount();
+        if (n1 == 0 || n2 == 0) {
+            return new Result(0, 0, 1, 0.5);
+        }
+
+        double n = n1 + n2;
+        double ranksBelow = 0;
+        double currentRankSum = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < baseline.counts.length; i++) {
+            double ties = baseline.counts[i] + current.counts[i];
+            if (ties == 0) continue;
+            currentRankSum += current.counts[i] * (ranksBelow + (ties + 1) / 2);
+            tieTerm += ties * ties * ties - ties;
+            ranksBelow += ties;
+        }
+
+        double u = currentRankSum - n2 * (n2 + 1) / 2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieTerm / (n * (n - 1)));
+        if (variance <= 0) {
+            return new Result(u, 0, 1, u / (n1 * n2));
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return new Result(u, z, 1 - normalCdf(z), u / (n1 * n2));
+    }
+
+    static double normalCdf(double z) {
+        return 0.5 * erfc(-z / Math.sqrt(2));
+    }
+
+    // Chebyshev fit from Numerical Recipes, fractional error below 1.2e-7
+    private static double erfc(double x) {
+        double t = 1 / (1 + 0.5 * Math.abs(x));
+        double ans = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? ans : 2 - ans;
+    }
+
+    @Getter
+    public static final class Result {
+        private final double u;
+        private final double z;
+        // Probability of a shift at least this large towards slower values if nothing changed
+        private final double pValue;
+        // P(current > baseline) + P(tie) / 2: 0.5 means no shift, 0.6 means current is slower in 60% of pairs
+        private final double probabilityOfSuperiority;
+
+        Result(double u, double z, double pValue, double probabilityOfSuperiority) {
+            this.u = u;
+            this.z = z;
+            this.pValue = pValue;
+            this.probabilityOfSuperiority = probabilityOfSuperiority;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package utils;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.stream.Collectors;
 
 public class LogLoader {
@@ -16,4 +19,22 @@ public class LogLoader {
                 .lines()
                 .collect(Collectors.joining("\n"));
     }
+
+    public static Path resourcePath(String filename) {
+        URL url = LogLoader.class.getClassLoader().getResource(filename);
+        if (url == null) {
+            throw new RuntimeException("File not found: " + filename);
+        }
+
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid resource location: " + url, e);
+        }
+    }
+
+    // A path on disk wins, otherwise the name is looked up among the bundled resources
+    public static Path logPath(String[] args, String defaultResource) {
+        return args.length > 0 ? Path.of(args[0]) : resourcePath(defaultResource);
+    }
 }
@@ -0,0 +1,201 @@
+package utils.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Thread-safe set of {@code long} values without boxing. Values are spread over
+ * independently locked open-addressing stripes, so concurrent adds rarely contend.
+ */
+public class ConcurrentLongSet {
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    public ConcurrentLongSet() {
+        this(DEFAULT_STRIPES, DEFAULT_STRIPE_CAPACITY * DEFAULT_STRIPES);
+    }
+
+    public ConcurrentLongSet(int stripeCount, int expectedSize) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(expectedSize / count);
+        }
+        stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    public boolean add(long value) {
+        long hash = hash(value);
+        return stripe(hash).add(value, hash);
+    }
+
+    public boolean remove(long value) {
+        long hash = hash(value);
+        return stripe(hash).remove(value, hash);
+    }
+
+    public boolean contains(long value) {
+        long hash = hash(value);
+        return stripe(hash).contains(value, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Each stripe is copied under its own lock: values added concurrently may or may not be included
+    public long[] toArray() {
+        long[][] parts = new long[stripes.length][];
+        int total = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            parts[i] = stripes[i].toArray();
+            total += parts[i].length;
+        }
+        long[] result = new long[total];
+        int position = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (Stripe stripe : stripes) {
+            for (long value : stripe.toArray()) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    private static long hash(long value) {
+        return value * 0x9E3779B97F4A7C15L;
+    }
+
+    private static final class Stripe {
+        private static final long EMPTY = 0;
+        private static final float LOAD_FACTOR = 0.5f;
+
+        private long[] keys;
+        private boolean hasZeroKey;
+        private int size;
+        private int mask;
+
+        Stripe(int expectedSize) {
+            keys = new long[Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1];
+            mask = keys.length - 1;
+        }
+
+        synchronized boolean add(long key, long hash) {
+            if (key == EMPTY) {
+                if (hasZeroKey) return false;
+                hasZeroKey = true;
+                size++;
+                return true;
+            }
+            int slot = slot(hash);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) return false;
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            if (++size > keys.length * LOAD_FACTOR) grow();
+            return true;
+        }
+
+        synchronized boolean remove(long key, long hash) {
+            if (key == EMPTY) {
+                if (!hasZeroKey) return false;
+                hasZeroKey = false;
+                size--;
+                return true;
+            }
+            int slot = slot(hash);
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY) return false;
+                slot = (slot + 1) & mask;
+            }
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int gap = slot;
+            for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int ideal = slot(hash(keys[i]));
+                if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return true;
+        }
+
+        synchronized boolean contains(long key, long hash) {
+            if (key == EMPTY) return hasZeroKey;
+            int slot = slot(hash);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) return true;
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] toArray() {
+            long[] result = new long[size];
+            int position = 0;
+            if (hasZeroKey) result[position++] = EMPTY;
+            for (long key : keys) {
+                if (key != EMPTY) result[position++] = key;
+            }
+            return result;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(keys, EMPTY);
+            hasZeroKey = false;
+            size = 0;
+        }
+
+        private int slot(long hash) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            keys = new long[oldKeys.length * 2];
+            mask = keys.length - 1;
+            for (long key : oldKeys) {
+                if (key == EMPTY) continue;
+                int slot = slot(hash(key));
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
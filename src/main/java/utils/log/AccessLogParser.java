@@ -0,0 +1,223 @@
+package utils.log;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static utils.log.Timestamps.isDigit;
+
+/**
+ * Hand-written parser for todo-app access lines:
+ * <pre>
+ * 2025-06-10T09:37:09.515241Z  INFO 172.17.0.1:43964 "POST /todos HTTP/1.1" 201 "-" "Apache-HttpClient/4.5.13 (Java/17.0.2)" 405.564µs
+ * </pre>
+ * Works on byte ranges and never allocates.
+ */
+public final class AccessLogParser {
+    public enum LineType { ACCESS, CREATE_TODO, OTHER, MALFORMED }
+
+    private static final byte[] CREATE_TODO = "create_todo:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte MICRO_SIGN_LEAD = (byte) 0xC2;
+    private static final byte MICRO_SIGN_TAIL = (byte) 0xB5;
+
+    private AccessLogParser() {
+    }
+
+    public static LineType parse(ByteBuffer buffer, int start, int end, AccessLogRecord record) {
+        if (start == end) return LineType.OTHER;
+        record.buffer = buffer;
+
+        int pos = indexOf(buffer, start, end, ' ');
+        if (pos < 0) return LineType.MALFORMED;
+        record.timestampNanos = Timestamps.parseEpochNanos(buffer, start, pos, record.minuteCache);
+        if (record.timestampNanos == Timestamps.INVALID) return LineType.MALFORMED;
+
+        pos = skipSpaces(buffer, pos, end);
+        int levelEnd = indexOf(buffer, pos, end, ' ');
+        if (levelEnd < 0) return LineType.MALFORMED;
+        record.level = level(buffer, pos, levelEnd);
+        if (record.level == null) return LineType.MALFORMED;
+        if (record.level == LogLevel.DEBUG) return parseCreateTodo(buffer, skipSpaces(buffer, levelEnd, end), end, record);
+        if (record.level != LogLevel.INFO) return LineType.OTHER;
+
+        // client address, the port follows the last ':'
+        pos = skipSpaces(buffer, levelEnd, end);
+        int addressEnd = indexOf(buffer, pos, end, ' ');
+        if (addressEnd < 0) return LineType.MALFORMED;
+        int port = 0;
+        for (int i = pos; i < addressEnd; i++) {
+            byte b = buffer.get(i);
+            port = b == ':' ? 0 : port * 10 + (b - '0');
+        }
+        record.clientPort = port;
+
+        // "METHOD /path HTTP/1.1"
+        pos = addressEnd + 1;
+        if (pos >= end || buffer.get(pos) != '"') return LineType.OTHER;
+        int methodEnd = indexOf(buffer, pos + 1, end, ' ');
+        if (methodEnd < 0) return LineType.MALFORMED;
+        record.method = method(buffer, pos + 1, methodEnd);
+        record.pathStart = methodEnd + 1;
+        record.pathEnd = indexOf(buffer, record.pathStart, end, ' ');
+        if (record.pathEnd < 0) return LineType.MALFORMED;
+        pos = indexOf(buffer, record.pathEnd, end, '"');
+        if (pos < 0) return LineType.MALFORMED;
+
+        // status
+        pos += 2;
+        if (pos + 3 > end) return LineType.MALFORMED;
+        int status = 0;
+        for (int i = pos; i < pos + 3; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) return LineType.MALFORMED;
+            status = status * 10 + (b - '0');
+        }
+        record.status = status;
+
+        // "referer" "user agent"
+        pos = indexOf(buffer, pos + 3, end, '"');
+        if (pos < 0) return LineType.MALFORMED;
+        pos = indexOf(buffer, pos + 1, end, '"');
+        if (pos < 0) return LineType.MALFORMED;
+        pos = indexOf(buffer, pos + 1, end, '"');
+        if (pos < 0) return LineType.MALFORMED;
+        record.userAgentStart = pos + 1;
+        record.userAgentEnd = indexOf(buffer, record.userAgentStart, end, '"');
+        if (record.userAgentEnd < 0) return LineType.MALFORMED;
+
+        record.durationNanos = parseDurationNanos(buffer, skipSpaces(buffer, record.userAgentEnd + 1, end), end);
+        return record.durationNanos < 0 ? LineType.MALFORMED : LineType.ACCESS;
+    }
+
+    // create_todo: Todo { id: 0, text: "test_0", completed: true }
+    private static LineType parseCreateTodo(ByteBuffer buffer, int pos, int end, AccessLogRecord record) {
+        if (!startsWith(buffer, pos, end, CREATE_TODO)) return LineType.OTHER;
+
+        pos = indexOf(buffer, pos + CREATE_TODO.length, end, ':');
+        if (pos < 0) return LineType.MALFORMED;
+        pos = skipSpaces(buffer, pos + 1, end);
+        long id = 0;
+        int digitsStart = pos;
+        while (pos < end && isDigit(buffer.get(pos))) {
+            id = id * 10 + (buffer.get(pos++) - '0');
+        }
+        if (pos == digitsStart) return LineType.MALFORMED;
+        record.todoId = id;
+
+        pos = indexOf(buffer, pos, end, '"');
+        if (pos < 0) return LineType.MALFORMED;
+        int length = 0;
+        for (pos++; pos < end && buffer.get(pos) != '"'; pos++) {
+            byte b = buffer.get(pos);
+            if (b == '\\') {
+                pos++;
+                if (pos < end && buffer.get(pos) == 'u') {
+                    pos = indexOf(buffer, pos, end, '}');
+                    if (pos < 0) return LineType.MALFORMED;
+                }
+            } else if ((b & 0xC0) == 0x80) {
+                continue;
+            }
+            length++;
+        }
+        if (pos >= end) return LineType.MALFORMED;
+        record.textLength = length;
+
+        pos = indexOf(buffer, pos + 1, end, ':');
+        if (pos < 0) return LineType.MALFORMED;
+        pos = skipSpaces(buffer, pos + 1, end);
+        if (pos >= end) return LineType.MALFORMED;
+        record.completed = buffer.get(pos) == 't';
+        return LineType.CREATE_TODO;
+    }
+
+    /**
+     * Parses a Rust {@code Debug} duration such as {@code 405.564µs}, {@code 1.2ms} or {@code 870ns}.
+     *
+     * @return the duration in nanoseconds or -1
+     */
+    public static long parseDurationNanos(ByteBuffer buffer, int start, int end) {
+        int pos = start;
+        long whole = 0;
+        while (pos < end && isDigit(buffer.get(pos))) {
+            whole = whole * 10 + (buffer.get(pos++) - '0');
+        }
+        if (pos == start) return -1;
+
+        long fraction = 0;
+        long fractionScale = 1;
+        if (pos < end && buffer.get(pos) == '.') {
+            pos++;
+            while (pos < end && isDigit(buffer.get(pos))) {
+                if (fractionScale < 1_000_000_000_000L) {
+                    fraction = fraction * 10 + (buffer.get(pos) - '0');
+                    fractionScale *= 10;
+                }
+                pos++;
+            }
+        }
+        if (pos >= end) return -1;
+
+        long unitNanos;
+        byte first = buffer.get(pos);
+        int remaining = end - pos;
+        if (first == 'n' && remaining >= 2 && buffer.get(pos + 1) == 's') {
+            unitNanos = 1;
+        } else if (first == MICRO_SIGN_LEAD && remaining >= 3
+                && buffer.get(pos + 1) == MICRO_SIGN_TAIL && buffer.get(pos + 2) == 's') {
+            unitNanos = 1_000;
+        } else if (first == 'u' && remaining >= 2 && buffer.get(pos + 1) == 's') {
+            unitNanos = 1_000;
+        } else if (first == 'm' && remaining >= 2 && buffer.get(pos + 1) == 's') {
+            unitNanos = 1_000_000;
+        } else if (first == 's') {
+            unitNanos = 1_000_000_000;
+        } else {
+            return -1;
+        }
+        return whole * unitNanos + Math.round(fraction * (double) unitNanos / fractionScale);
+    }
+
+    static int indexOf(ByteBuffer buffer, int from, int end, char c) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int from, int end, byte[] prefix) {
+        if (end - from < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(from + i) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int from, int end) {
+        while (from < end && buffer.get(from) == ' ') from++;
+        return from;
+    }
+
+    private static LogLevel level(ByteBuffer buffer, int start, int end) {
+        switch (buffer.get(start)) {
+            case 'I': return end - start == 4 ? LogLevel.INFO : null;
+            case 'D': return end - start == 5 ? LogLevel.DEBUG : null;
+            case 'W': return end - start == 4 ? LogLevel.WARN : null;
+            case 'E': return end - start == 5 ? LogLevel.ERROR : null;
+            case 'T': return end - start == 5 ? LogLevel.TRACE : null;
+            default: return null;
+        }
+    }
+
+    private static HttpMethod method(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        switch (buffer.get(start)) {
+            case 'G': return length == 3 ? HttpMethod.GET : HttpMethod.OTHER;
+            case 'P':
+                if (length == 4) return HttpMethod.POST;
+                return length == 3 && buffer.get(start + 1) == 'U' ? HttpMethod.PUT : HttpMethod.OTHER;
+            case 'D': return length == 6 ? HttpMethod.DELETE : HttpMethod.OTHER;
+            default: return HttpMethod.OTHER;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package utils.log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class AccessLogReader {
+
+    /**
+     * Streams every access line of the file to the consumer. The record is reused between calls.
+     */
+    public static void forEach(Path file, Consumer<AccessLogRecord> consumer) {
+        forEachLine(file, (type, record) -> {
+            if (type == AccessLogParser.LineType.ACCESS) {
+                consumer.accept(record);
+            }
+        });
+    }
+
+    /**
+     * Streams every line of the file with its type, e.g. to see {@code create_todo} debug lines as well.
+     */
+    public static void forEachLine(Path file, BiConsumer<AccessLogParser.LineType, AccessLogRecord> consumer) {
+        AccessLogRecord record = new AccessLogRecord();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedLineScanner.scan(channel, 0, channel.size(), MappedLineScanner.DEFAULT_WINDOW_SIZE,
+                    (buffer, start, end) -> consumer.accept(AccessLogParser.parse(buffer, start, end, record), record));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read log: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package utils.log;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One parsed log line. The instance is reused for every line, text fields are kept
+ * as byte ranges of the underlying buffer and are only turned into Strings on request.
+ * Access fields are set for access lines, todo fields for {@code create_todo} debug lines.
+ */
+@Getter
+public class AccessLogRecord {
+    long timestampNanos;
+    LogLevel level;
+    int clientPort;
+    HttpMethod method;
+    int status;
+    long durationNanos;
+
+    long todoId;
+    int textLength;
+    boolean completed;
+
+    ByteBuffer buffer;
+    int pathStart;
+    int pathEnd;
+    int userAgentStart;
+    int userAgentEnd;
+
+    @Getter(AccessLevel.NONE)
+    final Timestamps.MinuteCache minuteCache = new Timestamps.MinuteCache();
+
+    public String path() {
+        return text(pathStart, pathEnd);
+    }
+
+    public String userAgent() {
+        return text(userAgentStart, userAgentEnd);
+    }
+
+    /**
+     * @return true for {@code /todos/:id}, false for the collection itself
+     */
+    public boolean isItemPath() {
+        int slash = pathStart + 1;
+        while (slash < pathEnd && buffer.get(slash) != '/' && buffer.get(slash) != '?') slash++;
+        return slash < pathEnd - 1 && buffer.get(slash) == '/';
+    }
+
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,307 @@
+package utils.log;
+
+import perf.stats.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Parsed access records stored column by column in blocks of {@link #BLOCK_SIZE} records:
+ * durations as unsigned int nanoseconds, status and method as one-byte dictionary indexes and
+ * timestamps as zigzag varint deltas from the previous record. Blocks are memory-mapped when the
+ * file is opened and a footer keeps their offsets and time ranges, so a query touches only the
+ * columns and blocks it needs and independent blocks are scanned in parallel. Durations longer than
+ * {@link #MAX_DURATION_NANOS} (about 4.29 s) are stored saturated at that value.
+ * <p>
+ * Export once with {@link #export(Path, Path)} or let {@link #openOrExport(Path)} keep a cache next to the log.
+ */
+public class ColumnarLog {
+    public static final String EXTENSION = ".columns";
+    static final int MAGIC = 0x414C4331;
+    static final int VERSION = 1;
+    static final int BLOCK_SIZE = 1 << 16;
+    static final long MAX_DURATION_NANOS = 0xFFFF_FFFFL;
+    private static final int TRAILER_BYTES = 8 * 5 + 4;
+
+    public interface RecordHandler {
+        void onRecord(long timestampNanos, HttpMethod method, int status, long durationNanos);
+    }
+
+    private final Block[] blocks;
+    private final MappedByteBuffer[] mapped;
+    private final int[] statusDictionary;
+    private final HttpMethod[] methodDictionary;
+    private final long recordCount;
+    private final long malformedLines;
+    private final long sourceSize;
+    private final long sourceModified;
+
+    private ColumnarLog(Block[] blocks, MappedByteBuffer[] mapped, int[] statusDictionary, HttpMethod[] methodDictionary,
+                        long recordCount, long malformedLines, long sourceSize, long sourceModified) {
+        this.blocks = blocks;
+        this.mapped = mapped;
+        this.statusDictionary = statusDictionary;
+        this.methodDictionary = methodDictionary;
+        this.recordCount = recordCount;
+        this.malformedLines = malformedLines;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+    }
+
+    /**
+     * Parses the text log once and writes its access records to {@code target}.
+     */
+    public static void export(Path log, Path target) {
+        try (ColumnarLogWriter writer = new ColumnarLogWriter(target, Files.size(log),
+                Files.getLastModifiedTime(log).toMillis())) {
+            long[] malformed = new long[1];
+            AccessLogReader.forEachLine(log, (type, record) -> {
+                if (type == AccessLogParser.LineType.MALFORMED) {
+                    malformed[0]++;
+                } else if (type == AccessLogParser.LineType.ACCESS) {
+                    try {
+                        writer.append(record);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to write " + target, e);
+                    }
+                }
+            });
+            writer.addMalformedLines(malformed[0]);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export " + log + " to " + target, e);
+        }
+    }
+
+    /**
+     * Opens {@code <log>.columns}, exporting it first when it is missing or the log changed since.
+     */
+    public static ColumnarLog openOrExport(Path log) {
+        Path cache = log.resolveSibling(log.getFileName() + EXTENSION);
+        if (Files.exists(cache)) {
+            ColumnarLog columns = open(cache);
+            if (columns.isCurrent(log)) return columns;
+        }
+        try {
+            Path temp = Files.createTempFile(cache.toAbsolutePath().getParent(), log.getFileName().toString(), ".tmp");
+            try {
+                export(log, temp);
+                Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replace " + cache, e);
+        }
+        return open(cache);
+    }
+
+    public static ColumnarLog open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 + TRAILER_BYTES) throw new IOException("Too short for a columnar log: " + size + " bytes");
+            ByteBuffer header = read(channel, 0, 8);
+            if (header.getInt() != MAGIC) throw new IOException("Not a columnar log");
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported columnar log version " + version);
+
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long recordCount = trailer.getLong();
+            long malformedLines = trailer.getLong();
+            long sourceSize = trailer.getLong();
+            long sourceModified = trailer.getLong();
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) throw new IOException("Truncated columnar log");
+
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - TRAILER_BYTES - footerOffset));
+            int[] statuses = new int[footer.getInt()];
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = footer.getShort();
+            }
+            HttpMethod[] methods = new HttpMethod[footer.getInt()];
+            for (int i = 0; i < methods.length; i++) {
+                byte[] name = new byte[footer.get()];
+                footer.get(name);
+                methods[i] = HttpMethod.valueOf(new String(name, StandardCharsets.US_ASCII));
+            }
+            Block[] blocks = new Block[footer.getInt()];
+            MappedByteBuffer[] mapped = new MappedByteBuffer[blocks.length];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = Block.readFrom(footer);
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, blocks[i].offset, blocks[i].length);
+            }
+            return new ColumnarLog(blocks, mapped, statuses, methods, recordCount, malformedLines, sourceSize, sourceModified);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open columnar log: " + file, e);
+        }
+    }
+
+    // True when the file was exported from the log as it is now
+    public boolean isCurrent(Path log) {
+        try {
+            return Files.size(log) == sourceSize && Files.getLastModifiedTime(log).toMillis() == sourceModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    /**
+     * Every record in file order; decodes all four columns.
+     */
+    public void forEach(RecordHandler handler) {
+        for (int b = 0; b < blocks.length; b++) {
+            forEachInBlock(b, handler);
+        }
+    }
+
+    /**
+     * Same counts as {@link ParallelLogAnalyzer#analyze(Path)} on the source log; reads no timestamps.
+     * Durations above {@link #MAX_DURATION_NANOS} were saturated on export, so the max and the
+     * upper percentiles differ from the text log when requests took longer than about 4.29 s.
+     */
+    public LogStats stats() {
+        LogStats stats = IntStream.range(0, blocks.length).parallel()
+                .mapToObj(this::blockStats)
+                .reduce(LogStats::merge)
+                .orElseGet(LogStats::new);
+        stats.addMalformedLines(malformedLines);
+        return stats;
+    }
+
+    /**
+     * Durations of one method; reads only the method and duration columns.
+     */
+    public LatencyHistogram histogram(HttpMethod method) {
+        int index = indexOf(method);
+        return IntStream.range(0, blocks.length).parallel()
+                .mapToObj(b -> {
+                    LatencyHistogram histogram = new LatencyHistogram();
+                    if (index < 0) return histogram;
+                    ByteBuffer buffer = mapped[b];
+                    int count = blocks[b].count;
+                    int methodColumn = count * 5;
+                    for (int i = 0; i < count; i++) {
+                        if (buffer.get(methodColumn + i) == index) {
+                            histogram.record(Integer.toUnsignedLong(buffer.getInt(i * 4)));
+                        }
+                    }
+                    return histogram;
+                })
+                .reduce((left, right) -> {
+                    left.add(right);
+                    return left;
+                })
+                .orElseGet(LatencyHistogram::new);
+    }
+
+    /**
+     * Records with a timestamp in {@code [fromNanos, toNanos)}; blocks outside the range are skipped unread.
+     */
+    public void forEach(long fromNanos, long toNanos, RecordHandler handler) {
+        RecordHandler filter = (timestamp, method, status, duration) -> {
+            if (timestamp >= fromNanos && timestamp < toNanos) handler.onRecord(timestamp, method, status, duration);
+        };
+        for (int b = 0; b < blocks.length; b++) {
+            if (blocks[b].maxTimestamp < fromNanos || blocks[b].minTimestamp >= toNanos) continue;
+            forEachInBlock(b, filter);
+        }
+    }
+
+    private void forEachInBlock(int b, RecordHandler handler) {
+        ByteBuffer buffer = mapped[b];
+        int count = blocks[b].count;
+        int statusColumn = count * 4;
+        int methodColumn = statusColumn + count;
+        int position = methodColumn + count;
+        long timestamp = blocks[b].firstTimestamp;
+        for (int i = 0; i < count; i++) {
+            long zigzag = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = buffer.get(position++);
+                zigzag |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            timestamp += (zigzag >>> 1) ^ -(zigzag & 1);
+
+            handler.onRecord(timestamp, methodDictionary[buffer.get(methodColumn + i)],
+                    statusDictionary[buffer.get(statusColumn + i) & 0xFF],
+                    Integer.toUnsignedLong(buffer.getInt(i * 4)));
+        }
+    }
+
+    private LogStats blockStats(int b) {
+        LogStats stats = new LogStats();
+        ByteBuffer buffer = mapped[b];
+        int count = blocks[b].count;
+        int statusColumn = count * 4;
+        int methodColumn = statusColumn + count;
+        for (int i = 0; i < count; i++) {
+            stats.record(methodDictionary[buffer.get(methodColumn + i)],
+                    statusDictionary[buffer.get(statusColumn + i) & 0xFF],
+                    Integer.toUnsignedLong(buffer.getInt(i * 4)));
+        }
+        return stats;
+    }
+
+    private int indexOf(HttpMethod method) {
+        for (int i = 0; i < methodDictionary.length; i++) {
+            if (methodDictionary[i] == method) return i;
+        }
+        return -1;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of file");
+        }
+        return buffer.flip();
+    }
+
+    static final class Block {
+        static final int BYTES = 8 + 4 + 4 + 8 * 3;
+
+        final long offset;
+        final int length;
+        final int count;
+        final long firstTimestamp;
+        final long minTimestamp;
+        final long maxTimestamp;
+
+        Block(long offset, int length, int count, long firstTimestamp, long minTimestamp, long maxTimestamp) {
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.firstTimestamp = firstTimestamp;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putLong(offset).putInt(length).putInt(count)
+                    .putLong(firstTimestamp).putLong(minTimestamp).putLong(maxTimestamp);
+        }
+
+        static Block readFrom(ByteBuffer buffer) {
+            return new Block(buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                    buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
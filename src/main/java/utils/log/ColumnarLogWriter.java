@@ -0,0 +1,155 @@
+package utils.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes access records in the {@link ColumnarLog} format. Records are buffered one block at a time,
+ * so memory use does not depend on the size of the log.
+ */
+public class ColumnarLogWriter implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    private final long[] timestamps = new long[ColumnarLog.BLOCK_SIZE];
+    private final int[] durations = new int[ColumnarLog.BLOCK_SIZE];
+    private final byte[] statuses = new byte[ColumnarLog.BLOCK_SIZE];
+    private final byte[] methods = new byte[ColumnarLog.BLOCK_SIZE];
+    private final List<Integer> statusDictionary = new ArrayList<>();
+    private final byte[] statusCodes = new byte[1000];
+    private final List<ColumnarLog.Block> blocks = new ArrayList<>();
+    private final long sourceSize;
+    private final long sourceModified;
+    private int count;
+    private long recordCount;
+    private long malformedLines;
+    private long position;
+
+    /**
+     * @param sourceSize and {@code sourceModified} identify the text log the records come from, see {@link ColumnarLog#isCurrent}
+     */
+    public ColumnarLogWriter(Path file, long sourceSize, long sourceModified) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        // durations, statuses and methods plus at most 10 varint bytes per timestamp
+        this.block = ByteBuffer.allocate(ColumnarLog.BLOCK_SIZE * 16 + 8);
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        write(ByteBuffer.allocate(8).putInt(ColumnarLog.MAGIC).putInt(ColumnarLog.VERSION).flip());
+    }
+
+    public void append(AccessLogRecord record) throws IOException {
+        append(record.timestampNanos, record.method, record.status, record.durationNanos);
+    }
+
+    /**
+     * Durations are stored as unsigned 32-bit nanoseconds and saturate at about 4.29 seconds.
+     */
+    public void append(long timestampNanos, HttpMethod method, int status, long durationNanos) throws IOException {
+        timestamps[count] = timestampNanos;
+        durations[count] = (int) Math.min(Math.max(durationNanos, 0), ColumnarLog.MAX_DURATION_NANOS);
+        statuses[count] = statusIndex(status);
+        methods[count] = (byte) method.ordinal();
+        if (++count == ColumnarLog.BLOCK_SIZE) flushBlock();
+    }
+
+    public void addMalformedLines(long lines) {
+        malformedLines += lines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (count > 0) flushBlock();
+
+            HttpMethod[] methodValues = HttpMethod.values();
+            ByteBuffer footer = ByteBuffer.allocate(64 + statusDictionary.size() * 2 + methodValues.length * 16
+                    + blocks.size() * ColumnarLog.Block.BYTES);
+            footer.putInt(statusDictionary.size());
+            for (int status : statusDictionary) {
+                footer.putShort((short) status);
+            }
+            footer.putInt(methodValues.length);
+            for (HttpMethod method : methodValues) {
+                byte[] name = method.name().getBytes(StandardCharsets.US_ASCII);
+                footer.put((byte) name.length).put(name);
+            }
+            footer.putInt(blocks.size());
+            for (ColumnarLog.Block b : blocks) {
+                b.writeTo(footer);
+            }
+            footer.putLong(recordCount)
+                    .putLong(malformedLines)
+                    .putLong(sourceSize)
+                    .putLong(sourceModified)
+                    .putLong(position)
+                    .putInt(ColumnarLog.MAGIC);
+            write(footer.flip());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private byte statusIndex(int status) {
+        if (status < 0 || status >= statusCodes.length) {
+            throw new IllegalArgumentException("Status out of range: " + status);
+        }
+        int index = (statusCodes[status] & 0xFF) - 1;
+        if (index < 0) {
+            if (statusDictionary.size() == 255) {
+                throw new IllegalStateException("More than 255 distinct status codes");
+            }
+            statusDictionary.add(status);
+            index = statusDictionary.size() - 1;
+            statusCodes[status] = (byte) (index + 1);
+        }
+        return (byte) index;
+    }
+
+    // Columns of one block: int durations, byte statuses, byte methods, then zigzag varint timestamp deltas
+    private void flushBlock() throws IOException {
+        block.clear();
+        for (int i = 0; i < count; i++) {
+            block.putInt(durations[i]);
+        }
+        block.put(statuses, 0, count);
+        block.put(methods, 0, count);
+
+        long first = timestamps[0];
+        long previous = first;
+        long min = first;
+        long max = first;
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps[i];
+            long delta = timestamp - previous;
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                block.put((byte) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            block.put((byte) zigzag);
+            previous = timestamp;
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        // keep every block 8-byte aligned so the duration column is read with aligned loads
+        while ((block.position() & 7) != 0) block.put((byte) 0);
+
+        blocks.add(new ColumnarLog.Block(position, block.position(), count, first, min, max));
+        write(block.flip());
+        recordCount += count;
+        count = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package utils.log;
+
+import lombok.Getter;
+
+/**
+ * A POST /todos request reconstructed from its {@code create_todo} debug line and its access line.
+ * The correlator reuses one instance per callback.
+ */
+@Getter
+public class CreateRequest {
+    public enum Kind {
+        /** both lines were found */
+        MATCHED,
+        /** the handler logged the todo but no access line followed in time */
+        ORPHANED,
+        /** an access line without a preceding handler line, e.g. rejected before parsing */
+        UNMATCHED
+    }
+
+    Kind kind;
+    long timestampNanos;
+    long todoId;
+    int textLength;
+    boolean completed;
+    int clientPort;
+    int status;
+    long durationNanos;
+    long gapNanos;
+}
@@ -0,0 +1,112 @@
+package utils.log;
+
+import java.util.function.Consumer;
+
+/**
+ * Joins {@code create_todo} debug lines with the {@code POST /todos} access line that completes them,
+ * in a single pass. The server logs the handler line first, so pending handler lines are kept in a
+ * fixed-size FIFO and paired with the next POST access line. Handler lines that overflow the buffer
+ * or wait longer than {@code maxGapNanos} are reported as orphaned.
+ * <p>
+ * The access line carries neither the todo id nor its text, so the pairing is only sound for a log
+ * written by a sequential client. When a POST access line finds more than one handler line pending,
+ * the access line is paired with the newest one and the older ones are reported as orphaned: for a
+ * sequential client they are handlers that never logged completion. Such access lines are counted in
+ * {@link #getAmbiguous()}, which stays zero unless creates overlapped or handlers were orphaned.
+ */
+public class CreateRequestCorrelator {
+    private final long maxGapNanos;
+    private final Consumer<CreateRequest> consumer;
+    private final CreateRequest request = new CreateRequest();
+
+    private final long[] pendingTimestamps;
+    private final long[] pendingIds;
+    private final int[] pendingTextLengths;
+    private final boolean[] pendingCompleted;
+    private int head;
+    private int size;
+    private long ambiguous;
+
+    public CreateRequestCorrelator(int maxPending, long maxGapNanos, Consumer<CreateRequest> consumer) {
+        this.maxGapNanos = maxGapNanos;
+        this.consumer = consumer;
+        this.pendingTimestamps = new long[maxPending];
+        this.pendingIds = new long[maxPending];
+        this.pendingTextLengths = new int[maxPending];
+        this.pendingCompleted = new boolean[maxPending];
+    }
+
+    public void accept(AccessLogParser.LineType type, AccessLogRecord record) {
+        if (type == AccessLogParser.LineType.CREATE_TODO) {
+            expire(record.timestampNanos);
+            if (size == pendingIds.length) emitOrphan();
+            int tail = (head + size++) % pendingIds.length;
+            pendingTimestamps[tail] = record.timestampNanos;
+            pendingIds[tail] = record.todoId;
+            pendingTextLengths[tail] = record.textLength;
+            pendingCompleted[tail] = record.completed;
+        } else if (type == AccessLogParser.LineType.ACCESS
+                && record.method == HttpMethod.POST && !record.isItemPath()) {
+            expire(record.timestampNanos);
+            if (size > 1) {
+                ambiguous++;
+                while (size > 1) emitOrphan();
+            }
+            if (size > 0) {
+                fillPending(CreateRequest.Kind.MATCHED);
+                request.gapNanos = record.timestampNanos - pendingTimestamps[head];
+                pop();
+            } else {
+                request.kind = CreateRequest.Kind.UNMATCHED;
+                request.todoId = -1;
+                request.textLength = -1;
+                request.completed = false;
+                request.gapNanos = 0;
+            }
+            request.timestampNanos = record.timestampNanos;
+            request.clientPort = record.clientPort;
+            request.status = record.status;
+            request.durationNanos = record.durationNanos;
+            consumer.accept(request);
+        }
+    }
+
+    // POST access lines that found more than one handler line pending
+    public long getAmbiguous() {
+        return ambiguous;
+    }
+
+    /**
+     * Reports the handler lines still waiting for completion, call at the end of the log.
+     */
+    public void finish() {
+        while (size > 0) emitOrphan();
+    }
+
+    private void expire(long nowNanos) {
+        while (size > 0 && nowNanos - pendingTimestamps[head] > maxGapNanos) emitOrphan();
+    }
+
+    private void emitOrphan() {
+        fillPending(CreateRequest.Kind.ORPHANED);
+        request.timestampNanos = pendingTimestamps[head];
+        request.clientPort = 0;
+        request.status = 0;
+        request.durationNanos = 0;
+        request.gapNanos = 0;
+        pop();
+        consumer.accept(request);
+    }
+
+    private void fillPending(CreateRequest.Kind kind) {
+        request.kind = kind;
+        request.todoId = pendingIds[head];
+        request.textLength = pendingTextLengths[head];
+        request.completed = pendingCompleted[head];
+    }
+
+    private void pop() {
+        head = (head + 1) % pendingIds.length;
+        size--;
+    }
+}
@@ -0,0 +1,5 @@
+package utils.log;
+
+public enum HttpMethod {
+    GET, POST, PUT, DELETE, OTHER
+}
@@ -0,0 +1,5 @@
+package utils.log;
+
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR
+}
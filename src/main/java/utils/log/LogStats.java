@@ -0,0 +1,92 @@
+package utils.log;
+
+import perf.stats.LatencyHistogram;
+
+/**
+ * Aggregated view of an access log: latency per method, responses per status code and
+ * lines that could not be parsed. Instances are filled by one thread and merged afterwards.
+ */
+public class LogStats {
+    private static final int MAX_STATUS = 600;
+
+    private final LatencyHistogram[] latencyByMethod = new LatencyHistogram[HttpMethod.values().length];
+    private final long[] statusCounts = new long[MAX_STATUS];
+    private long accessLines;
+    private long malformedLines;
+
+    public LogStats() {
+        for (int i = 0; i < latencyByMethod.length; i++) {
+            latencyByMethod[i] = new LatencyHistogram();
+        }
+    }
+
+    public void accept(AccessLogParser.LineType type, AccessLogRecord record) {
+        if (type == AccessLogParser.LineType.MALFORMED) {
+            malformedLines++;
+        } else if (type == AccessLogParser.LineType.ACCESS) {
+            record(record.method, record.status, record.durationNanos);
+        }
+    }
+
+    void record(HttpMethod method, int status, long durationNanos) {
+        accessLines++;
+        latencyByMethod[method.ordinal()].record(durationNanos);
+        if (status < MAX_STATUS) statusCounts[status]++;
+    }
+
+    void addMalformedLines(long count) {
+        malformedLines += count;
+    }
+
+    public LogStats merge(LogStats other) {
+        for (int i = 0; i < latencyByMethod.length; i++) {
+            latencyByMethod[i].add(other.latencyByMethod[i]);
+        }
+        for (int i = 0; i < MAX_STATUS; i++) {
+            statusCounts[i] += other.statusCounts[i];
+        }
+        accessLines += other.accessLines;
+        malformedLines += other.malformedLines;
+        return this;
+    }
+
+    public LatencyHistogram histogram(HttpMethod method) {
+        return latencyByMethod[method.ordinal()];
+    }
+
+    public long statusCount(int status) {
+        return status >= 0 && status < MAX_STATUS ? statusCounts[status] : 0;
+    }
+
+    public long getAccessLines() {
+        return accessLines;
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    public long errorResponses() {
+        long errors = 0;
+        for (int status = 400; status < MAX_STATUS; status++) {
+            errors += statusCounts[status];
+        }
+        return errors;
+    }
+
+    public void print() {
+        System.out.println("Access lines: " + accessLines + ", malformed lines: " + malformedLines
+                + ", error responses: " + errorResponses());
+        for (HttpMethod method : HttpMethod.values()) {
+            LatencyHistogram histogram = histogram(method);
+            if (histogram.getTotalCount() > 0) {
+                System.out.println(method + ": " + histogram.summary());
+            }
+        }
+        for (int status = 0; status < MAX_STATUS; status++) {
+            if (statusCounts[status] > 0) {
+                System.out.println("Status " + status + ": " + statusCounts[status]);
+            }
+        }
+    }
+}
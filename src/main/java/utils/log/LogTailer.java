@@ -0,0 +1,125 @@
+package utils.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Consumer;
+
+/**
+ * Follows a growing log like {@code tail -F}: each {@link #poll} parses only the bytes appended
+ * since the previous call. A file that shrinks is treated as truncated and re-read from the start;
+ * a file replaced under the same name (rotation) is drained and then reopened.
+ */
+public class LogTailer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final AccessLogRecord record = new AccessLogRecord();
+    private final boolean fromStart;
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private long truncations;
+    private long rotations;
+
+    public LogTailer(Path file, boolean fromStart) {
+        this.file = file;
+        this.fromStart = fromStart;
+    }
+
+    /**
+     * @return number of complete lines read
+     */
+    public int poll(Consumer<AccessLogRecord> consumer) {
+        try {
+            if (channel == null && !open(fromStart)) return 0;
+
+            if (channel.size() < position) {
+                truncations++;
+                position = 0;
+                buffer.clear();
+            }
+            int lines = drain(consumer);
+
+            Object currentKey = currentFileKey();
+            if (currentKey != null && !currentKey.equals(fileKey)) {
+                rotations++;
+                channel.close();
+                channel = null;
+                buffer.clear();
+                if (open(true)) lines += drain(consumer);
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to follow log: " + file, e);
+        }
+    }
+
+    public long getTruncations() {
+        return truncations;
+    }
+
+    public long getRotations() {
+        return rotations;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    private boolean open(boolean atStart) throws IOException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        fileKey = currentFileKey();
+        position = atStart ? 0 : channel.size();
+        return true;
+    }
+
+    private int drain(Consumer<AccessLogRecord> consumer) throws IOException {
+        int lines = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            position += read;
+            int limit = buffer.position();
+            int lineStart = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    int end = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                    if (AccessLogParser.parse(buffer, lineStart, end, record) == AccessLogParser.LineType.ACCESS) {
+                        consumer.accept(record);
+                    }
+                    lineStart = i + 1;
+                    lines++;
+                }
+            }
+            if (lineStart == 0 && limit == buffer.capacity()) {
+                // a line longer than the buffer, drop what we have and resync on the next newline
+                buffer.clear();
+            } else {
+                buffer.flip().position(lineStart);
+                buffer.compact();
+            }
+        }
+        return lines;
+    }
+
+    private Object currentFileKey() throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package utils.log;
+
+import perf.stats.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Cuts a log into fixed windows aligned to the epoch (e.g. every 1 s, 10 s or minute) and hands each
+ * finished window to a handler with its request rate, status counts and latency histogram.
+ * Records must arrive in log order; a line stamped before the open window, as happens when concurrent
+ * responses are logged slightly out of order, is counted in the open window. A stretch without requests
+ * is reported as one empty window covering the whole gap.
+ * <p>
+ * One histogram and one set of counters are reused for every window, so the handler must copy what it keeps.
+ */
+public class LogTimeline {
+    private static final int MAX_STATUS = 600;
+
+    public interface WindowHandler {
+        void onWindow(Window window);
+    }
+
+    private final long windowNanos;
+    private final WindowHandler handler;
+    private final Window window = new Window();
+
+    public LogTimeline(Duration window, WindowHandler handler) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.windowNanos = window.toNanos();
+        this.handler = handler;
+    }
+
+    public static void analyze(Path log, Duration window, WindowHandler handler) {
+        LogTimeline timeline = new LogTimeline(window, handler);
+        AccessLogReader.forEach(log, timeline::record);
+        timeline.finish();
+    }
+
+    public static void analyze(ColumnarLog log, Duration window, WindowHandler handler) {
+        LogTimeline timeline = new LogTimeline(window, handler);
+        log.forEach((timestampNanos, method, status, durationNanos) -> timeline.record(timestampNanos, status, durationNanos));
+        timeline.finish();
+    }
+
+    public void record(AccessLogRecord record) {
+        record(record.getTimestampNanos(), record.getStatus(), record.getDurationNanos());
+    }
+
+    public void record(long timestampNanos, int status, long durationNanos) {
+        long start = Math.floorDiv(timestampNanos, windowNanos) * windowNanos;
+        if (window.startNanos == Long.MIN_VALUE) {
+            window.startNanos = start;
+            window.endNanos = start + windowNanos;
+        } else if (start >= window.endNanos) {
+            emit();
+            if (start > window.startNanos) {
+                // nothing was logged between the emitted window and this record
+                window.endNanos = start;
+                emit();
+            }
+            window.endNanos = start + windowNanos;
+        }
+
+        window.latency.record(durationNanos);
+        if (status >= 0 && status < MAX_STATUS) window.statusCounts[status]++;
+        window.count++;
+    }
+
+    // Emits the open window; call once after the last record
+    public void finish() {
+        if (window.startNanos != Long.MIN_VALUE && window.count > 0) emit();
+        window.startNanos = Long.MIN_VALUE;
+    }
+
+    private void emit() {
+        handler.onWindow(window);
+        window.startNanos = window.endNanos;
+        window.latency.reset();
+        Arrays.fill(window.statusCounts, 0);
+        window.count = 0;
+    }
+
+    /**
+     * Prints one line per window: start time, request rate, status counts and latency percentiles in µs.
+     */
+    public static WindowHandler printer(PrintStream out) {
+        StringBuilder statuses = new StringBuilder();
+        return window -> {
+            statuses.setLength(0);
+            for (int status = 0; status < MAX_STATUS; status++) {
+                long count = window.statusCount(status);
+                if (count > 0) statuses.append(statuses.length() == 0 ? "" : " ").append(status).append('=').append(count);
+            }
+            LatencyHistogram latency = window.getLatency();
+            out.printf("%-30s %10.1f req/s  p50=%.1f p90=%.1f p99=%.1f max=%.1f  %s%n",
+                    Instant.ofEpochSecond(0, window.getStartNanos()), window.rate(),
+                    latency.valueAtPercentile(50) / 1000.0, latency.valueAtPercentile(90) / 1000.0,
+                    latency.valueAtPercentile(99) / 1000.0, latency.getMaxValue() / 1000.0, statuses);
+        };
+    }
+
+    public static final class Window {
+        private long startNanos = Long.MIN_VALUE;
+        private long endNanos;
+        private long count;
+        private final long[] statusCounts = new long[MAX_STATUS];
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long statusCount(int status) {
+            return status >= 0 && status < MAX_STATUS ? statusCounts[status] : 0;
+        }
+
+        public double rate() {
+            return count * 1_000_000_000.0 / (endNanos - startNanos);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package utils.log;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Walks a file line by line through read-only memory-mapped windows, handing out byte ranges
+ * instead of Strings. Memory use is bounded by the window size whatever the file size.
+ */
+public final class MappedLineScanner {
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    public interface LineHandler {
+        void onLine(MappedByteBuffer buffer, int start, int end);
+    }
+
+    private MappedLineScanner() {
+    }
+
+    /**
+     * Scans {@code [from, to)}; {@code from} must be a line start and {@code to} a line end or the file size.
+     */
+    public static void scan(FileChannel channel, long from, long to, long windowSize, LineHandler handler)
+            throws IOException {
+        long position = from;
+        while (position < to) {
+            long size = Math.min(windowSize, to - position);
+            boolean lastWindow = position + size == to;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+            int limit = (int) size;
+            int consumed = 0;
+            int lineStart = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    handler.onLine(buffer, lineStart, trimCarriageReturn(buffer, lineStart, i));
+                    lineStart = i + 1;
+                    consumed = lineStart;
+                }
+            }
+            if (lastWindow && lineStart < limit) {
+                handler.onLine(buffer, lineStart, trimCarriageReturn(buffer, lineStart, limit));
+                consumed = limit;
+            }
+            if (consumed == 0) {
+                throw new IOException("Line at offset " + position + " is longer than " + windowSize + " bytes");
+            }
+            position += consumed;
+        }
+    }
+
+    private static int trimCarriageReturn(MappedByteBuffer buffer, int start, int end) {
+        return end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+    }
+}
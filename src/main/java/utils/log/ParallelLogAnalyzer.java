@@ -0,0 +1,104 @@
+package utils.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits a log into newline-aligned chunks and parses them in parallel on a {@link ForkJoinPool},
+ * merging the per-chunk {@link LogStats}.
+ */
+public class ParallelLogAnalyzer {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    public static LogStats analyze(Path file) {
+        return analyze(file, ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * @param chunkSize target chunk size in bytes, 0 picks four chunks per worker
+     */
+    public static LogStats analyze(Path file, ForkJoinPool pool, long chunkSize) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (chunkSize <= 0) {
+                chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1);
+            }
+            long[] boundaries = boundaries(channel, size, chunkSize);
+            return pool.invoke(new ChunkTask(channel, boundaries, 0, boundaries.length - 1));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to analyze log: " + file, e);
+        }
+    }
+
+    static long[] boundaries(FileChannel channel, long size, long chunkSize) throws IOException {
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        long[] boundaries = new long[chunks + 1];
+        int count = 1;
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        for (int i = 1; i < chunks; i++) {
+            long boundary = nextLineStart(channel, Math.max(i * chunkSize, boundaries[count - 1]), size, probe);
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static class ChunkTask extends RecursiveTask<LogStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] boundaries, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LogStats compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(channel, boundaries, from, middle);
+                left.fork();
+                LogStats right = new ChunkTask(channel, boundaries, middle, to).compute();
+                return left.join().merge(right);
+            }
+
+            LogStats stats = new LogStats();
+            AccessLogRecord record = new AccessLogRecord();
+            try {
+                MappedLineScanner.scan(channel, boundaries[from], boundaries[to], MappedLineScanner.DEFAULT_WINDOW_SIZE,
+                        (buffer, start, end) -> stats.accept(AccessLogParser.parse(buffer, start, end, record), record));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read chunk at offset " + boundaries[from], e);
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package utils.log;
+
+import perf.stats.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+
+/**
+ * Latency and request rate per endpoint ({@code METHOD /todos} or {@code METHOD /todos/:id})
+ * over a sliding window of {@code slots} intervals. Call {@link #rotate()} once per interval.
+ */
+public class RollingEndpointStats {
+    private static final int ENDPOINTS = HttpMethod.values().length * 2;
+
+    private final int slots;
+    private final Duration interval;
+    private final LatencyHistogram[][] windows = new LatencyHistogram[ENDPOINTS][];
+    private final long[][] errors = new long[ENDPOINTS][];
+    private final String[] labels = new String[ENDPOINTS];
+    private final LatencyHistogram merged = new LatencyHistogram();
+    private int current;
+    private int filledSlots = 1;
+
+    public RollingEndpointStats(Duration interval, int slots) {
+        this.interval = interval;
+        this.slots = slots;
+    }
+
+    public void record(AccessLogRecord record) {
+        boolean item = record.isItemPath();
+        int endpoint = record.getMethod().ordinal() * 2 + (item ? 1 : 0);
+        if (windows[endpoint] == null) {
+            windows[endpoint] = new LatencyHistogram[slots];
+            for (int i = 0; i < slots; i++) {
+                windows[endpoint][i] = new LatencyHistogram();
+            }
+            errors[endpoint] = new long[slots];
+            labels[endpoint] = label(record, item);
+        }
+        windows[endpoint][current].record(record.getDurationNanos());
+        if (record.getStatus() >= 400) errors[endpoint][current]++;
+    }
+
+    public void rotate() {
+        current = (current + 1) % slots;
+        filledSlots = Math.min(filledSlots + 1, slots);
+        for (int endpoint = 0; endpoint < ENDPOINTS; endpoint++) {
+            if (windows[endpoint] != null) {
+                windows[endpoint][current].reset();
+                errors[endpoint][current] = 0;
+            }
+        }
+    }
+
+    public void print(PrintStream out) {
+        double windowSeconds = interval.toMillis() * filledSlots / 1000.0;
+        out.printf("--- last %.0f s ---%n", windowSeconds);
+        for (int endpoint = 0; endpoint < ENDPOINTS; endpoint++) {
+            if (windows[endpoint] == null) continue;
+            merged.reset();
+            long errorCount = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                merged.add(windows[endpoint][slot]);
+                errorCount += errors[endpoint][slot];
+            }
+            out.printf("%-20s %8.1f req/s errors=%d %s%n", labels[endpoint],
+                    merged.getTotalCount() / windowSeconds, errorCount, merged.summary());
+        }
+    }
+
+    private static String label(AccessLogRecord record, boolean item) {
+        String path = record.path();
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+        if (item) path = path.substring(0, path.lastIndexOf('/')) + "/:id";
+        return record.getMethod() + " " + path;
+    }
+}
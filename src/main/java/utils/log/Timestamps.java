@@ -0,0 +1,115 @@
+package utils.log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free parser for the UTC timestamps written by the todo-app,
+ * e.g. {@code 2025-06-10T09:37:09.515241Z}.
+ */
+public final class Timestamps {
+    public static final long INVALID = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private Timestamps() {
+    }
+
+    /**
+     * @return nanoseconds since the epoch, or {@link #INVALID} if the bytes are not a timestamp
+     */
+    public static long parseEpochNanos(ByteBuffer buffer, int start, int end) {
+        if (end - start < 20) return INVALID;
+        long minuteNanos = parseMinuteNanos(buffer, start);
+        return minuteNanos == INVALID ? INVALID : parseSecondNanos(buffer, start, end, minuteNanos);
+    }
+
+    /**
+     * Same as {@link #parseEpochNanos(ByteBuffer, int, int)}, but the date, hour and minute are taken from
+     * the cache when the first 16 bytes match the previous call, which they do for every line of a busy minute.
+     */
+    public static long parseEpochNanos(ByteBuffer buffer, int start, int end, MinuteCache cache) {
+        if (end - start < 20) return INVALID;
+        long head = buffer.getLong(start);
+        long tail = buffer.getLong(start + 8);
+        if (cache.minuteNanos == INVALID || head != cache.head || tail != cache.tail) {
+            long minuteNanos = parseMinuteNanos(buffer, start);
+            if (minuteNanos == INVALID) return INVALID;
+            cache.head = head;
+            cache.tail = tail;
+            cache.minuteNanos = minuteNanos;
+        }
+        return parseSecondNanos(buffer, start, end, cache.minuteNanos);
+    }
+
+    /**
+     * The last {@code yyyy-MM-ddTHH:mm} prefix seen and its value. Not thread-safe, keep one per parsing thread.
+     */
+    public static final class MinuteCache {
+        private long head;
+        private long tail;
+        private long minuteNanos = INVALID;
+    }
+
+    // yyyy-MM-ddTHH:mm
+    private static long parseMinuteNanos(ByteBuffer buffer, int start) {
+        if (buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-' || buffer.get(start + 10) != 'T'
+                || buffer.get(start + 13) != ':') {
+            return INVALID;
+        }
+        int year = digits(buffer, start, 4);
+        int month = digits(buffer, start + 5, 2);
+        int day = digits(buffer, start + 8, 2);
+        int hour = digits(buffer, start + 11, 2);
+        int minute = digits(buffer, start + 14, 2);
+        if ((year | month | day | hour | minute) < 0) return INVALID;
+        return (epochDay(year, month, day) * 86_400 + hour * 3_600L + minute * 60L) * NANOS_PER_SECOND;
+    }
+
+    // :ss[.fraction]Z
+    private static long parseSecondNanos(ByteBuffer buffer, int start, int end, long minuteNanos) {
+        if (buffer.get(start + 16) != ':') return INVALID;
+        int second = digits(buffer, start + 17, 2);
+        if (second < 0) return INVALID;
+
+        int pos = start + 19;
+        long fraction = 0;
+        int scale = 9;
+        if (buffer.get(pos) == '.') {
+            pos++;
+            while (pos < end && isDigit(buffer.get(pos))) {
+                if (scale > 0) {
+                    fraction = fraction * 10 + (buffer.get(pos) - '0');
+                    scale--;
+                }
+                pos++;
+            }
+        }
+        if (pos >= end || buffer.get(pos) != 'Z') return INVALID;
+        while (scale-- > 0) fraction *= 10;
+
+        return minuteNanos + second * NANOS_PER_SECOND + fraction;
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar (H. Hinnant's days_from_civil).
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) return -1;
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -1,37 +1,101 @@
 import api.generators.TestDataGenerator;
 import api.models.Todo;
+import api.requests.BulkCleaner;
+import api.requests.CleanupReport;
+import api.requests.CrudInterface;
+import api.requests.HttpTodoClient;
 import api.requests.TodoService;
 import api.specs.Specifications;
+import api.stub.StubServerProfile;
+import api.stub.StubTodoServer;
 import io.restassured.RestAssured;
-import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import perf.baseline.RegressionGate;
+import perf.baseline.RunSummary;
+import perf.stats.LatencyHistogram;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.stream.LongStream;
 
 public abstract class BaseTest {
     public static final int REQUESTS_COUNT = 100;
+    public static final int CLEANUP_CONCURRENCY = Integer.getInteger("todo.cleanupConcurrency", 16);
+    public static final int CLEANUP_PAGE_SIZE = 1000;
+    // -Dtodo.purge=true also deletes every todo left on the server, including data the tests never created
+    public static final boolean PURGE = Boolean.getBoolean("todo.purge");
+    // Every performance run is saved to target/perf-results and checked against -Dperf.baseline.dir
+    public static final RegressionGate REGRESSION_GATE = RegressionGate.fromSystemProperties();
+    private static BulkCleaner cleaner;
+    private static StubTodoServer stubServer;
     protected TodoService todoService;
+    // Client for performance tests: -Dtodo.client=http for java.net.http, RestAssured without logging otherwise
+    protected CrudInterface client;
     protected Todo todo;
     protected HashMap<String, String> queryParams;
 
     @BeforeAll
     public static void setupApiTests() {
-        RestAssured.baseURI = "http://localhost:8082";
+        RestAssured.baseURI = baseUri();
+        cleaner = new BulkCleaner(new HttpTodoClient(RestAssured.baseURI),
+                Specifications.authorizationHeader(Specifications.authSpec()), CLEANUP_CONCURRENCY);
     }
 
     @BeforeEach
     public void setupTestData() {
         todoService = new TodoService();
+        client = createClient();
         todo = TestDataGenerator.generate(Todo.class);
         queryParams = new HashMap<>();
     }
 
+    // Deletes the tracked todos concurrently; with -Dtodo.purge=true sweeps whatever else is on the server
     @AfterEach
     public void clearData() {
-        for (Long createdTodo : todoService.getCreatedTodos()) {
-            todoService.delete(Specifications.authSpec(), createdTodo, HttpStatus.SC_NO_CONTENT);
+        long[] createdTodos = LongStream.concat(
+                Arrays.stream(todoService.getCreatedTodos().toArray()),
+                Arrays.stream(client.getCreatedTodos().toArray())).toArray();
+
+        CleanupReport report = cleaner.deleteAll(createdTodos);
+        report.assertNoFailures();
+        if (PURGE) {
+            cleaner.purge(CLEANUP_PAGE_SIZE).assertNoFailures();
+        }
+    }
+
+    /**
+     * @param throughput requests per second, 0 when the run has no meaningful rate
+     */
+    protected void verifyPerformance(String run, LatencyHistogram times, double throughput, long errors) {
+        REGRESSION_GATE.verify(RunSummary.of(getClass().getSimpleName() + "." + run, times, throughput, errors));
+    }
+
+    // -Dtodo.server=stub serves every test class from one in-process StubTodoServer instead of the todo-app container;
+    // with -Dtodo.log the stub also writes the app's log format there
+    private static synchronized String baseUri() {
+        if (!"stub".equals(System.getProperty("todo.server"))) {
+            return "http://localhost:8082";
+        }
+        if (stubServer == null) {
+            String log = System.getProperty("todo.log");
+            stubServer = new StubTodoServer(StubServerProfile.builder()
+                    .latency(Duration.ofMillis(Long.getLong("todo.stub.latencyMillis", 0)))
+                    .errorRate(Double.parseDouble(System.getProperty("todo.stub.errorRate", "0")))
+                    .accessLog(log == null ? null : Path.of(log))
+                    .build());
+            Runtime.getRuntime().addShutdownHook(new Thread(stubServer::close));
+        }
+        return stubServer.baseUri();
+    }
+
+    protected static CrudInterface createClient() {
+        if ("http".equals(System.getProperty("todo.client"))) {
+            return new HttpTodoClient(RestAssured.baseURI);
         }
+        return TodoService.performance();
     }
 }
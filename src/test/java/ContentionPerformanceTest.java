@@ -0,0 +1,271 @@
+import api.generators.TestDataGenerator;
+import api.models.Todo;
+import api.requests.HttpTodoClient;
+import api.specs.Specifications;
+import io.restassured.RestAssured;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import perf.stats.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PUT and DELETE hammering a few hot ids while readers list the store, at growing concurrency.
+ * Per level it prints latency per operation (inflation against the first level), the status
+ * distribution (404 after a concurrent delete, 400 on a duplicate re-create, 401 from the
+ * malformed-body PUT bug) and lost updates: counter todos are incremented read-modify-write,
+ * so every 200 on such a PUT is one increment and the final counter tells how many were overwritten.
+ * Tune with -Dperf.contention.levels=1,4,16,64, -Dperf.contention.seconds and -Dperf.contention.hotKeys.
+ */
+public class ContentionPerformanceTest extends BaseTest {
+    public static final int[] LEVELS = Arrays.stream(System.getProperty("perf.contention.levels", "1,4,16,64")
+            .split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    public static final Duration LEVEL_DURATION = Duration.ofSeconds(Integer.getInteger("perf.contention.seconds", 10));
+    public static final int HOT_KEYS = Integer.getInteger("perf.contention.hotKeys", 8);
+    public static final int COUNTERS = 2;
+    public static final long FIRST_HOT_ID = 1;
+    public static final long FIRST_COUNTER_ID = FIRST_HOT_ID + HOT_KEYS;
+    private static final String COUNTER_PREFIX = "counter_";
+
+    private enum Operation {
+        GET("GET"),
+        PUT("PUT"),
+        PUT_MALFORMED("PUT malformed"),
+        DELETE("DELETE"),
+        RECREATE("POST re-create"),
+        PUT_COUNTER("PUT counter");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private HttpTodoClient httpClient;
+    private String authorization;
+    // Position of each counter in GET /todos, so a read fetches one todo instead of the whole store
+    private volatile long[] counterOffsets = new long[COUNTERS];
+
+    @Test
+    public void userCanEstimateContentionForPUTAndDELETEOnHotKeys() {
+        httpClient = new HttpTodoClient(RestAssured.baseURI);
+        client = httpClient;
+        authorization = Specifications.authorizationHeader(Specifications.performanceAuthSpec());
+
+        Map<Operation, Long> baselineP50 = new EnumMap<>(Operation.class);
+        long failures = 0;
+        for (int level : LEVELS) {
+            LevelResult result = runLevel(level);
+            failures += result.failures.sum();
+
+            System.out.println("Writers: " + level + ", readers: " + readers(level)
+                    + (result.firstError != null ? ", first error: " + result.firstError : ""));
+            for (Operation op : Operation.values()) {
+                LatencyHistogram latency = result.latency.get(op);
+                if (latency.getTotalCount() == 0) continue;
+                long p50 = latency.valueAtPercentile(50);
+                long baseline = baselineP50.computeIfAbsent(op, k -> p50);
+                System.out.printf("  %-15s p50 x%.2f, statuses %s, latency: %s%n", op.label,
+                        baseline > 0 ? (double) p50 / baseline : 0, new TreeMap<>(result.statuses.get(op)),
+                        latency.summary());
+            }
+            for (int c = 0; c < COUNTERS; c++) {
+                long increments = result.increments.get(c);
+                long value = readCounter(c);
+                System.out.printf("  counter %d: %d successful increments, final value %d, lost updates %d%n",
+                        FIRST_COUNTER_ID + c, increments, value, increments - value);
+            }
+        }
+
+        assertThat(failures).isZero();
+    }
+
+    private static int readers(int writers) {
+        return Math.max(1, writers / 4);
+    }
+
+    private LevelResult runLevel(int writers) {
+        resetStore();
+        LevelResult result = new LevelResult();
+        long end = System.nanoTime() + LEVEL_DURATION.toNanos();
+        int workers = writers + readers(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                boolean reader = i >= writers;
+                futures.add(executor.submit(() -> {
+                    Map<Operation, LatencyHistogram> latency = newHistograms();
+                    while (System.nanoTime() < end) {
+                        try {
+                            if (reader) {
+                                read(result, latency);
+                            } else {
+                                write(result, latency);
+                            }
+                        } catch (RuntimeException | AssertionError e) {
+                            result.failures.increment();
+                            result.firstError = result.firstError == null ? e.toString() : result.firstError;
+                        }
+                    }
+                    synchronized (result) {
+                        latency.forEach((op, histogram) -> result.latency.get(op).add(histogram));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Contention run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Contention worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private void read(LevelResult result, Map<Operation, LatencyHistogram> latency) {
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.get(Map.of());
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        latency.get(Operation.GET).record(System.nanoTime() - start);
+        result.record(Operation.GET, response.statusCode());
+    }
+
+    private void write(LevelResult result, Map<Operation, LatencyHistogram> latency) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = FIRST_HOT_ID + random.nextInt(HOT_KEYS);
+        int r = random.nextInt(100);
+        long start = System.nanoTime();
+        Operation op;
+        int status;
+        if (r < 70) {
+            op = Operation.PUT;
+            status = httpClient.put(id, HttpTodoClient.toJson(TestDataGenerator.generateTodo(id)));
+        } else if (r < 72) {
+            op = Operation.PUT_MALFORMED;
+            status = httpClient.put(id, ("{\"id\":" + id + ",\"text\":").getBytes(StandardCharsets.UTF_8));
+        } else if (r < 80) {
+            op = Operation.DELETE;
+            status = httpClient.delete(id, authorization);
+            latency.get(op).record(System.nanoTime() - start);
+            result.record(op, status);
+
+            op = Operation.RECREATE;
+            start = System.nanoTime();
+            status = httpClient.post(TestDataGenerator.generateTodoJson(id));
+        } else {
+            op = Operation.PUT_COUNTER;
+            int counter = random.nextInt(COUNTERS);
+            long counterId = FIRST_COUNTER_ID + counter;
+            long value = readCounter(counter);
+            start = System.nanoTime();
+            status = httpClient.put(counterId, counterJson(counterId, value + 1));
+            if (status == HttpStatus.SC_OK) result.increments.incrementAndGet(counter);
+        }
+        latency.get(op).record(System.nanoTime() - start);
+        result.record(op, status);
+    }
+
+    // Counters go first so deleting and re-creating hot ids does not move them in the list.
+    // Every id is tracked, each DELETE is followed by a re-create, so the ids all exist at teardown
+    private void resetStore() {
+        for (long id = FIRST_COUNTER_ID; id < FIRST_COUNTER_ID + COUNTERS; id++) {
+            httpClient.post(counterJson(id, 0));
+            assertThat(httpClient.put(id, counterJson(id, 0))).isEqualTo(HttpStatus.SC_OK);
+            httpClient.getCreatedTodos().add(id);
+        }
+        for (long id = FIRST_HOT_ID; id < FIRST_COUNTER_ID; id++) {
+            httpClient.post(TestDataGenerator.generateTodoJson(id));
+            httpClient.getCreatedTodos().add(id);
+        }
+        locateCounters();
+    }
+
+    private void locateCounters() {
+        List<Todo> todos = httpClient.read(Map.of(), HttpStatus.SC_OK);
+        long[] offsets = new long[COUNTERS];
+        for (int c = 0; c < COUNTERS; c++) {
+            offsets[c] = -1;
+            for (int i = 0; i < todos.size(); i++) {
+                if (todos.get(i).getId() == FIRST_COUNTER_ID + c) offsets[c] = i;
+            }
+            if (offsets[c] < 0) throw new AssertionError("Counter todo " + (FIRST_COUNTER_ID + c) + " is missing");
+        }
+        counterOffsets = offsets;
+    }
+
+    private long readCounter(int counter) {
+        long counterId = FIRST_COUNTER_ID + counter;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<Todo> page = httpClient.read(Map.of("offset", Long.toString(counterOffsets[counter]), "limit", "1"),
+                    HttpStatus.SC_OK);
+            if (page.size() == 1 && page.get(0).getId() == counterId) {
+                return Long.parseLong(page.get(0).getText().substring(COUNTER_PREFIX.length()));
+            }
+            // a todo before the counter was deleted by someone else
+            locateCounters();
+        }
+        throw new AssertionError("Counter todo " + counterId + " keeps moving");
+    }
+
+    private static byte[] counterJson(long id, long value) {
+        return HttpTodoClient.toJson(Todo.builder().id(id).text(COUNTER_PREFIX + value).completed(false).build());
+    }
+
+    private static Map<Operation, LatencyHistogram> newHistograms() {
+        Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            histograms.put(op, new LatencyHistogram());
+        }
+        return histograms;
+    }
+
+    private static class LevelResult {
+        final Map<Operation, LatencyHistogram> latency = newHistograms();
+        final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+        final AtomicLongArray increments = new AtomicLongArray(COUNTERS);
+        final LongAdder failures = new LongAdder();
+        volatile String firstError;
+
+        LevelResult() {
+            for (Operation op : Operation.values()) {
+                statuses.put(op, new ConcurrentHashMap<>());
+            }
+        }
+
+        void record(Operation op, int status) {
+            statuses.get(op).computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+}
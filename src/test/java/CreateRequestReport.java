@@ -0,0 +1,83 @@
+import perf.stats.LatencyHistogram;
+import utils.LogLoader;
+import utils.log.AccessLogReader;
+import utils.log.CreateRequest;
+import utils.log.CreateRequestCorrelator;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Usage: CreateRequestReport [log file]
+ * Pairs create_todo debug lines with their POST access lines and breaks server time down
+ * by text length, completed flag and id magnitude.
+ * The log must come from a sequential client, see {@link CreateRequestCorrelator}.
+ */
+public class CreateRequestReport {
+    private static final int MAX_PENDING = 4096;
+    private static final long MAX_GAP_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_ORPHANS_SHOWN = 10;
+    private static final String[] TEXT_BUCKETS = {"0", "1-15", "16-63", "64-255", "256-1023", "1024+"};
+
+    public static void main(String[] args) {
+        Path log = LogLoader.logPath(args, "todo_1000.log");
+
+        long[] kinds = new long[CreateRequest.Kind.values().length];
+        LatencyHistogram gaps = new LatencyHistogram();
+        LatencyHistogram[] byTextLength = histograms(TEXT_BUCKETS.length);
+        LatencyHistogram[] byCompleted = histograms(2);
+        LatencyHistogram[] byIdDigits = histograms(20);
+
+        CreateRequestCorrelator correlator = new CreateRequestCorrelator(MAX_PENDING, MAX_GAP_NANOS, request -> {
+            kinds[request.getKind().ordinal()]++;
+            if (request.getKind() == CreateRequest.Kind.ORPHANED && kinds[request.getKind().ordinal()] <= MAX_ORPHANS_SHOWN) {
+                System.out.println("Orphaned create_todo: id=" + request.getTodoId());
+            }
+            if (request.getKind() != CreateRequest.Kind.MATCHED) return;
+
+            gaps.record(request.getGapNanos());
+            byTextLength[textBucket(request.getTextLength())].record(request.getDurationNanos());
+            byCompleted[request.isCompleted() ? 1 : 0].record(request.getDurationNanos());
+            byIdDigits[Long.toString(request.getTodoId()).length() - 1].record(request.getDurationNanos());
+        });
+        AccessLogReader.forEachLine(log, correlator::accept);
+        correlator.finish();
+
+        for (CreateRequest.Kind kind : CreateRequest.Kind.values()) {
+            System.out.println(kind + ": " + kinds[kind.ordinal()]);
+        }
+        System.out.println("POST lines with several create_todo lines pending: " + correlator.getAmbiguous());
+        System.out.println("create_todo -> access line gap: " + gaps.summary());
+        for (int i = 0; i < TEXT_BUCKETS.length; i++) {
+            print("text length " + TEXT_BUCKETS[i], byTextLength[i]);
+        }
+        print("completed=false", byCompleted[0]);
+        print("completed=true", byCompleted[1]);
+        for (int i = 0; i < byIdDigits.length; i++) {
+            print("id digits " + (i + 1), byIdDigits[i]);
+        }
+    }
+
+    private static int textBucket(int length) {
+        if (length == 0) return 0;
+        if (length < 16) return 1;
+        if (length < 64) return 2;
+        if (length < 256) return 3;
+        if (length < 1024) return 4;
+        return 5;
+    }
+
+    private static LatencyHistogram[] histograms(int count) {
+        LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    private static void print(String label, LatencyHistogram histogram) {
+        if (histogram.getTotalCount() > 0) {
+            System.out.println(label + ": " + histogram.summary());
+        }
+    }
+}
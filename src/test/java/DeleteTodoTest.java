@@ -43,11 +43,6 @@ public class DeleteTodoTest extends BaseTest {
         // 1. Arrange
         todoService.create(todo, HttpStatus.SC_CREATED);
 
-        // Hook In order not to delete twice due to clearData at @AfterEach at BaseTest
-        List<Long> createdTodos = todoService.getCreatedTodos();
-        createdTodos.remove(todo.getId());
-        todoService.setCreatedTodos(createdTodos);
-
         // 2. Act
         todoService.delete(Specifications.authSpec(), todo.getId(), HttpStatus.SC_NO_CONTENT);
 
@@ -0,0 +1,93 @@
+import api.ingest.BulkIngest;
+import api.ingest.IngestProfile;
+import api.ingest.IngestReport;
+import api.requests.HttpTodoClient;
+import io.restassured.RestAssured;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import perf.stats.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /todos against growing stores. The store is topped up from one size to the next,
+ * and every size is measured with the same offset/limit cases:
+ * if deep offsets get slower as the store grows, pagination is O(offset);
+ * "no params" and "limit=size" show how latency follows the response size.
+ * Sizes: -Dperf.get.sizes=1000,10000 by default; larger stores are opt-in, e.g.
+ * -Dperf.get.sizes=1000,10000,100000,1000000.
+ */
+public class GetPerformanceTest extends BaseTest {
+    public static final long[] STORE_SIZES = Arrays.stream(System.getProperty("perf.get.sizes", "1000,10000")
+            .split(",")).mapToLong(size -> Long.parseLong(size.trim())).toArray();
+    public static final int SAMPLES = Integer.getInteger("perf.get.samples", 20);
+    public static final int WARM_UP_SAMPLES = 3;
+    public static final int SEED_CONNECTIONS = Integer.getInteger("perf.get.seedConnections", 8);
+    public static final int PAGE = 10;
+
+    private final byte[] drain = new byte[64 * 1024];
+
+    @Test
+    public void userCanEstimatePerformanceForGETAcrossStoreSizes() {
+        HttpTodoClient httpClient = new HttpTodoClient(RestAssured.baseURI);
+        client = httpClient;
+        BulkIngest ingest = new BulkIngest(RestAssured.baseURI,
+                IngestProfile.builder().connections(SEED_CONNECTIONS).build(), httpClient.getCreatedTodos());
+
+        System.out.printf("%10s  %-28s %12s  %s%n", "store", "query", "bytes", "latency");
+        long seeded = 0;
+        for (long size : STORE_SIZES) {
+            IngestReport seed = ingest.ingest(seeded, size);
+            assertThat(seed.failed()).as(seed.getStatusCounts().toString()).isZero();
+            seeded = size;
+
+            Map<String, Map<String, String>> cases = new LinkedHashMap<>();
+            cases.put("no params", Map.of());
+            cases.put("offset=0 limit=" + PAGE, page(0, PAGE));
+            cases.put("offset=size/2 limit=" + PAGE, page(size / 2, PAGE));
+            cases.put("offset=size-" + PAGE + " limit=" + PAGE, page(size - PAGE, PAGE));
+            cases.put("offset=0 limit=1000", page(0, 1000));
+            cases.put("offset=0 limit=size", page(0, size));
+
+            for (Map.Entry<String, Map<String, String>> entry : cases.entrySet()) {
+                LatencyHistogram times = new LatencyHistogram();
+                long bytes = 0;
+                for (int i = 0; i < WARM_UP_SAMPLES + SAMPLES; i++) {
+                    long start = System.nanoTime();
+                    bytes = readFully(httpClient.get(entry.getValue()));
+                    long end = System.nanoTime();
+                    if (i >= WARM_UP_SAMPLES) times.record(end - start);
+                }
+                System.out.printf("%10d  %-28s %12d  %s%n", size, entry.getKey(), bytes, times.summary());
+                verifyPerformance(size + "." + entry.getKey(), times, 0, 0);
+            }
+        }
+    }
+
+    private static Map<String, String> page(long offset, long limit) {
+        return Map.of("offset", Long.toString(Math.max(0, offset)), "limit", Long.toString(limit));
+    }
+
+    // Reads the whole body so the measured time includes the transfer, not just the headers
+    private long readFully(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.SC_OK);
+            long bytes = 0;
+            int read;
+            while ((read = body.read(drain)) != -1) {
+                bytes += read;
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,4 +1,7 @@
 import api.generators.TestDataGenerator;
+import api.ingest.BulkIngest;
+import api.ingest.IngestProfile;
+import api.ingest.IngestReport;
 import api.models.Todo;
 import api.specs.Specifications;
 import io.restassured.RestAssured;
@@ -100,11 +103,9 @@ public class GetTodoTest extends BaseTest {
     @Test
     public void userCanReadTodoWithLargeLimit() {
         // 1. Arrange
-        for (int i = 0; i < REQUESTS_COUNT + 2; i++) {
-            todo.setId(i);
-            todo.setText("test_" + i);
-            todoService.create(todo, HttpStatus.SC_CREATED);
-        }
+        IngestReport seed = new BulkIngest(RestAssured.baseURI, IngestProfile.builder().build(), todoService.getCreatedTodos())
+                .ingest(0, REQUESTS_COUNT + 2);
+        assertThat(seed.failed()).isZero();
         queryParams.put("limit", Integer.toString(REQUESTS_COUNT));
 
         // 2. Act
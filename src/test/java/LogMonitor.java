@@ -0,0 +1,34 @@
+import utils.log.LogTailer;
+import utils.log.RollingEndpointStats;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Usage: LogMonitor <log file> [report interval seconds] [window intervals]
+ * Follows the todo-app log (e.g. {@code docker logs -f todo-app > todo.log}) and prints
+ * per-endpoint rate and latency over the last window every interval.
+ */
+public class LogMonitor {
+    private static final long POLL_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        Path log = Path.of(args[0]);
+        Duration interval = Duration.ofSeconds(args.length > 1 ? Integer.parseInt(args[1]) : 5);
+        int slots = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+
+        RollingEndpointStats stats = new RollingEndpointStats(interval, slots);
+        try (LogTailer tailer = new LogTailer(log, false)) {
+            long nextReport = System.nanoTime() + interval.toNanos();
+            while (!Thread.currentThread().isInterrupted()) {
+                tailer.poll(stats::record);
+                if (System.nanoTime() >= nextReport) {
+                    stats.print(System.out);
+                    stats.rotate();
+                    nextReport += interval.toNanos();
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+}
@@ -1,28 +1,46 @@
+import perf.stats.LatencyHistogram;
 import utils.LogLoader;
+import utils.log.AccessLogReader;
+import utils.log.ColumnarLog;
+import utils.log.HttpMethod;
+import utils.log.LogStats;
+import utils.log.ParallelLogAnalyzer;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.Path;
+import java.util.Arrays;
 
+/**
+ * Usage: LogTimeExtractor [--parallel | --columnar] [log file]
+ * Without a file the bundled todo.log is used; --parallel analyzes all methods and statuses on every core,
+ * --columnar does the same from {@code <log>.columns}, parsing the log only when that file is missing or stale.
+ */
 public class LogTimeExtractor {
     public static void main(String[] args) {
-        String log = LogLoader.loadLog("todo.log");
-        List<Double> times = new ArrayList<>();
+        boolean parallel = args.length > 0 && args[0].equals("--parallel");
+        boolean columnar = args.length > 0 && args[0].equals("--columnar");
+        Path log = LogLoader.logPath(parallel || columnar ? Arrays.copyOfRange(args, 1, args.length) : args, "todo.log");
 
-        Pattern pattern = Pattern.compile("INFO.*POST.*?(\\d+\\.\\d+)(ms|µs)");
-        Matcher matcher = pattern.matcher(log);
+        if (columnar) {
+            LogStats stats = ColumnarLog.openOrExport(log).stats();
+            stats.print();
+            PostPerformanceTest.printPerformanceData(stats.histogram(HttpMethod.POST));
+            return;
+        }
+
+        if (parallel) {
+            LogStats stats = ParallelLogAnalyzer.analyze(log);
+            stats.print();
+            PostPerformanceTest.printPerformanceData(stats.histogram(HttpMethod.POST));
+            return;
+        }
 
-        while (matcher.find()) {
-            String value = matcher.group(1);
-            String unit = matcher.group(2);
+        LatencyHistogram times = new LatencyHistogram();
 
-            if (unit.equals("ms")) {
-                times.add(Double.parseDouble(value) * 1000);
-            } else {
-                times.add(Double.parseDouble(value));
+        AccessLogReader.forEach(log, record -> {
+            if (record.getMethod() == HttpMethod.POST) {
+                times.record(record.getDurationNanos());
             }
-        }
+        });
 
         PostPerformanceTest.printPerformanceData(times);
     }
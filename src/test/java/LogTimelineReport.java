@@ -0,0 +1,27 @@
+import utils.LogLoader;
+import utils.log.LogTimeline;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Usage: LogTimelineReport [window: 1s | 10s | 1m ...] [log file]
+ * One line per window with request rate, status counts and latency percentiles,
+ * to spot warm-up (the slow first requests) and throughput dips along a long run.
+ */
+public class LogTimelineReport {
+    public static void main(String[] args) {
+        boolean hasWindow = args.length > 0 && args[0].matches("\\d+(ms|s|m)");
+        Duration window = hasWindow ? parseWindow(args[0]) : Duration.ofSeconds(1);
+        Path log = LogLoader.logPath(hasWindow ? Arrays.copyOfRange(args, 1, args.length) : args, "todo_1000.log");
+
+        LogTimeline.analyze(log, window, LogTimeline.printer(System.out));
+    }
+
+    private static Duration parseWindow(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return value.endsWith("m") ? Duration.ofMinutes(amount) : Duration.ofSeconds(amount);
+    }
+}
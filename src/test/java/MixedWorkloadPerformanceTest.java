@@ -0,0 +1,53 @@
+import api.specs.Specifications;
+import org.junit.jupiter.api.Test;
+import perf.scenario.KeyDistribution;
+import perf.scenario.Operation;
+import perf.scenario.Scenario;
+import perf.scenario.ScenarioReport;
+import perf.scenario.ScenarioRunner;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-heavy traffic with occasional creates, updates and admin deletes.
+ * Shape it with -Dperf.mix=read/create/update/delete (70/20/8/2 by default), -Dperf.workers,
+ * -Dperf.thinkMillis and -Dperf.initialKeys; compare the uniform and the zipfian run to see hot-key effects.
+ */
+public class MixedWorkloadPerformanceTest extends BaseTest {
+    public static final String MIX = System.getProperty("perf.mix", "70/20/8/2");
+    public static final int WORKERS = Integer.getInteger("perf.workers", 16);
+    public static final Duration THINK_TIME = Duration.ofMillis(Integer.getInteger("perf.thinkMillis", 0));
+    public static final int INITIAL_KEYS = Integer.getInteger("perf.initialKeys", 1000);
+
+    @Test
+    public void userCanEstimatePerformanceForMixedWorkloadWithUniformKeys() {
+        run(KeyDistribution.UNIFORM);
+    }
+
+    @Test
+    public void userCanEstimatePerformanceForMixedWorkloadWithHotKeys() {
+        run(KeyDistribution.ZIPFIAN);
+    }
+
+    private void run(KeyDistribution keyDistribution) {
+        Scenario scenario = Scenario.withMix(MIX)
+                .keyDistribution(keyDistribution)
+                .workers(WORKERS)
+                .thinkTime(THINK_TIME)
+                .initialKeys(INITIAL_KEYS)
+                .warmUp(PostPerformanceTest.WARM_UP)
+                .duration(PostPerformanceTest.DURATION)
+                .build();
+
+        ScenarioReport report = new ScenarioRunner(scenario, client, Specifications.performanceAuthSpec()).run();
+
+        report.print("MIX");
+        assertThat(report.totalErrors()).isZero();
+        for (Operation operation : Operation.values()) {
+            verifyPerformance(keyDistribution + "." + operation, report.latency(operation),
+                    report.throughput(operation), report.errors(operation));
+        }
+    }
+}
@@ -1,32 +1,239 @@
+import api.generators.TestDataGenerator;
+import api.ingest.BulkIngest;
+import api.ingest.IngestProfile;
+import api.ingest.IngestReport;
+import api.models.Todo;
+import api.payloads.Payload;
+import api.payloads.PayloadCorpus;
+import api.payloads.PayloadPool;
+import api.requests.AsyncCrudInterface;
+import api.requests.CrudInterface;
+import api.requests.HttpTodoClient;
+import api.requests.TodoService;
+import io.restassured.RestAssured;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.Test;
+import perf.load.ClientTimings;
+import perf.load.LoadGenerator;
+import perf.load.LoadProfile;
+import perf.load.LoadReport;
+import perf.report.LatencyDecomposition;
+import perf.stats.LatencyHistogram;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class PostPerformanceTest extends BaseTest {
+    public static final int TARGET_RPS = Integer.getInteger("perf.rps", 200);
+    public static final int WORKERS = Integer.getInteger("perf.workers", 16);
+    public static final Duration WARM_UP = Duration.ofSeconds(Integer.getInteger("perf.warmUpSeconds", 5));
+    public static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.durationSeconds", 30));
+    public static final int SEQUENTIAL_RPS = Integer.getInteger("perf.sequentialRps", 50);
+    public static final int IN_FLIGHT = Integer.getInteger("perf.inFlight", 256);
+    public static final int INGEST_COUNT = Integer.getInteger("perf.ingest.count", 100_000);
+    private static final long LOG_FLUSH_MILLIS = 1000;
 
     @Test
     public void userCanEstimatePerformanceForPOST() {
-        List<Double> times = new ArrayList<>();
-        for (int i = 0; i < REQUESTS_COUNT; i++) {
-            todo.setId(i);
-            todo.setText("test_" + i);
+        LatencyHistogram times = measureSequentialPosts(todoService, 0);
+        printPerformanceData(times);
+        verifyPerformance("sequential", times, 0, 0);
+    }
+
+    // The same sequential run twice: with the logging specs of the functional tests
+    // and with the performance client, to show what console I/O and spec building cost per request.
+    @Test
+    public void userCanEstimatePerformanceForPOSTWithoutLogging() {
+        LatencyHistogram withLogging = measureSequentialPosts(todoService, 0);
+        LatencyHistogram withoutLogging = measureSequentialPosts(client, REQUESTS_COUNT);
+
+        System.out.println("POST with logging:          " + withLogging.summary());
+        System.out.println("POST with " + client.getClass().getSimpleName() + ": " + withoutLogging.summary());
+        verifyPerformance("sequentialWithoutLogging", withoutLogging, 0, 0);
+    }
+
+    // Open-loop run at a constant arrival rate: raise -Dperf.rps until achieved RPS
+    // falls behind the target or the start lag grows, that is the saturation point.
+    @Test
+    public void userCanEstimateThroughputForPOST() {
+        LoadProfile profile = LoadProfile.builder()
+                .targetRps(TARGET_RPS)
+                .workers(WORKERS)
+                .warmUp(WARM_UP)
+                .duration(DURATION)
+                .reportServiceTime(true)
+                .build();
+
+        LoadReport report = new LoadGenerator(profile).run(sequence -> {
+            Todo payload = Todo.builder()
+                    .id(sequence)
+                    .text("test_" + sequence)
+                    .completed(todo.isCompleted())
+                    .build();
+            client.create(payload, HttpStatus.SC_CREATED);
+        });
+
+        report.print("POST");
+        assertThat(report.getErrors()).isZero();
+        verifyPerformance("openLoop", report.getResponseTime(), report.achievedRps(), report.getErrors());
+    }
+
+    // Bodies are serialized once before the run and only their ids are patched per request,
+    // so the generator spends next to no CPU per POST
+    @Test
+    public void userCanEstimateThroughputForPOSTWithPreSerializedPayloads() {
+        HttpTodoClient httpClient = new HttpTodoClient(RestAssured.baseURI);
+        client = httpClient;
+        PayloadPool payloads = new PayloadPool(PayloadCorpus.builder().size(WORKERS * 4).build());
+        LoadProfile profile = LoadProfile.builder()
+                .targetRps(TARGET_RPS)
+                .workers(WORKERS)
+                .warmUp(WARM_UP)
+                .duration(DURATION)
+                .reportServiceTime(true)
+                .build();
+
+        LoadReport report = new LoadGenerator(profile).run(sequence -> {
+            Payload payload = payloads.acquire();
+            try {
+                httpClient.create(payload.setId(sequence), HttpStatus.SC_CREATED);
+            } finally {
+                payloads.release(payload);
+            }
+        });
+
+        report.print("POST");
+        assertThat(report.getErrors()).isZero();
+        verifyPerformance("openLoopPreSerialized", report.getResponseTime(), report.achievedRps(), report.getErrors());
+    }
+
+    // One thread issues every request and never waits for a response; only -Dperf.inFlight bounds the concurrency.
+    // -Dtodo.client=http gives the non-blocking java.net.http client, otherwise RestAssured calls run on a thread each.
+    @Test
+    public void userCanEstimateThroughputForPOSTWithAsyncClient() {
+        LatencyHistogram times = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        long requests = (long) TARGET_RPS * DURATION.toSeconds();
+
+        try (AsyncCrudInterface async = client instanceof HttpTodoClient
+                ? ((HttpTodoClient) client).async(IN_FLIGHT)
+                : ((TodoService) client).async(IN_FLIGHT)) {
             long start = System.nanoTime();
-            todoService.create(todo, HttpStatus.SC_CREATED);
-            long end = System.nanoTime();
-            times.add((end - start) / 1000.0);
+            for (long id = 0; id < requests; id++) {
+                Todo payload = TestDataGenerator.generateTodo(id);
+                long sent = System.nanoTime();
+                pending.add(async.create(payload, HttpStatus.SC_CREATED).whenComplete((result, error) -> {
+                    long elapsed = System.nanoTime() - sent;
+                    synchronized (times) {
+                        times.record(elapsed);
+                    }
+                    if (error != null) errors.incrementAndGet();
+                }));
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+            long elapsed = System.nanoTime() - start;
+
+            double rps = requests * 1_000_000_000.0 / elapsed;
+            System.out.printf("POST async in flight: %d, achieved RPS: %.1f, errors: %d%n", IN_FLIGHT, rps, errors.get());
+            System.out.println("POST async duration: " + times.summary());
+            assertThat(errors.get()).isZero();
+            verifyPerformance("async", times, rps, errors.get());
         }
+    }
 
-        printPerformanceData(times);
+    // Upper bound on the create rate: requests are pipelined over a few connections, nothing is timed per request.
+    // Tune with -Dperf.ingest.count, -Dperf.ingest.connections, -Dperf.ingest.depth and -Dperf.ingest.batch.
+    @Test
+    public void userCanEstimateIngestRateForPOST() {
+        IngestProfile profile = IngestProfile.builder()
+                .connections(Integer.getInteger("perf.ingest.connections", 8))
+                .pipelineDepth(Integer.getInteger("perf.ingest.depth", 64))
+                .batchSize(Integer.getInteger("perf.ingest.batch", 256))
+                .build();
+
+        IngestReport report = new BulkIngest(RestAssured.baseURI, profile, client.getCreatedTodos())
+                .ingest(0, INGEST_COUNT);
+
+        report.print("POST");
+        assertThat(report.failed()).isZero();
+    }
+
+    // The same sequential client as userCanEstimatePerformanceForPOST, but paced by a schedule:
+    // a slow response delays the following sends and the delay is counted in their response time.
+    @Test
+    public void userCanEstimateLatencyForPOSTWithoutCoordinatedOmission() {
+        LoadProfile profile = LoadProfile.builder()
+                .targetRps(SEQUENTIAL_RPS)
+                .workers(1)
+                .warmUp(Duration.ZERO)
+                .duration(Duration.ofMillis(REQUESTS_COUNT * 1000L / SEQUENTIAL_RPS))
+                .reportServiceTime(true)
+                .build();
+
+        LoadReport report = new LoadGenerator(profile).run(sequence -> {
+            todo.setId(sequence);
+            todo.setText("test_" + sequence);
+            client.create(todo, HttpStatus.SC_CREATED);
+        });
+
+        report.print("POST");
+        assertThat(report.getErrors()).isZero();
+        verifyPerformance("scheduledSequential", report.getResponseTime(), report.achievedRps(), report.getErrors());
+    }
+
+    // Needs the container log on disk while the test runs, e.g.
+    // docker logs -f todo-app > todo.log 2>&1 & mvn test -Dtest=PostPerformanceTest -Dtodo.log=todo.log
+    @Test
+    public void userCanDecomposePOSTLatency() throws InterruptedException {
+        String serverLog = System.getProperty("todo.log");
+        assumeTrue(serverLog != null, "-Dtodo.log=<path to the todo-app log> is not set");
+
+        ClientTimings timings = new ClientTimings(REQUESTS_COUNT);
+        LoadProfile profile = LoadProfile.builder()
+                .targetRps(SEQUENTIAL_RPS)
+                .workers(1)
+                .warmUp(Duration.ZERO)
+                .duration(Duration.ofMillis(REQUESTS_COUNT * 1000L / SEQUENTIAL_RPS))
+                .build();
+
+        new LoadGenerator(profile).run(sequence -> {
+            todo.setId(sequence);
+            todo.setText("test_" + sequence);
+            client.create(todo, HttpStatus.SC_CREATED);
+        }, timings);
+        Thread.sleep(LOG_FLUSH_MILLIS);
+
+        LatencyDecomposition decomposition = LatencyDecomposition.build(timings, Path.of(serverLog));
+        decomposition.print("POST");
+        assertThat(decomposition.getClient().getTotalCount()).isPositive();
+    }
+
+    private LatencyHistogram measureSequentialPosts(CrudInterface service, long firstId) {
+        LatencyHistogram times = new LatencyHistogram();
+        for (long id = firstId; id < firstId + REQUESTS_COUNT; id++) {
+            todo.setId(id);
+            todo.setText("test_" + id);
+            long start = System.nanoTime();
+            service.create(todo, HttpStatus.SC_CREATED);
+            long end = System.nanoTime();
+            times.record(end - start);
+        }
+        return times;
     }
 
-    public static void printPerformanceData(List<Double> times) {
-        System.out.println("Max POST time: " + times.stream().max(Comparator.naturalOrder()));
-        System.out.println("Min POST time: " + times.stream().min(Comparator.naturalOrder()));
-        System.out.println("Average POST time: " + times.stream().mapToDouble(n -> n).average());
+    public static void printPerformanceData(LatencyHistogram times) {
+        System.out.printf("Max POST time: %.1f%n", times.getMaxValue() / 1000.0);
+        System.out.printf("Min POST time: %.1f%n", times.getMinValue() / 1000.0);
+        System.out.printf("Average POST time: %.2f%n", times.getMean() / 1000.0);
 
-        System.out.println("POST duration: " + times);
+        System.out.println("POST duration: " + times.summary());
     }
 }
@@ -0,0 +1,191 @@
+package api.ingest;
+
+import api.stub.StubTodoServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import utils.collections.ConcurrentLongSet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Timeout(60)
+public class BulkIngestTest {
+    private static final IngestProfile PROFILE = IngestProfile.builder()
+            .connections(4)
+            .pipelineDepth(32)
+            .batchSize(100)
+            .build();
+
+    private static StubTodoServer server;
+    private final ConcurrentLongSet created = new ConcurrentLongSet();
+
+    @BeforeAll
+    public static void startServer() {
+        server = StubTodoServer.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void clearServer() {
+        server.clear();
+    }
+
+    @Test
+    public void everyCreatedIdIsTracked() {
+        IngestReport report = new BulkIngest(server.baseUri(), PROFILE, created).ingest(0, 10_000);
+
+        assertThat(report.getSubmitted()).isEqualTo(10_000);
+        assertThat(report.created()).isEqualTo(10_000);
+        assertThat(report.getLost().sum()).isZero();
+        assertThat(server.size()).isEqualTo(10_000);
+        assertIdsTracked(0, 10_000);
+    }
+
+    @Test
+    public void duplicateIdsAreCountedPerRequest() {
+        new BulkIngest(server.baseUri(), PROFILE, created).ingest(0, 1000);
+
+        IngestReport report = new BulkIngest(server.baseUri(), PROFILE, created).ingest(500, 2000);
+
+        assertThat(report.created()).isEqualTo(1000);
+        assertThat(report.getStatusCounts().get(400).sum()).isEqualTo(500);
+        assertThat(report.failed()).isEqualTo(500);
+        assertThat(report.getLost().sum()).isZero();
+        assertIdsTracked(0, 2000);
+    }
+
+    @Test
+    public void requestsOfABrokenConnectionGoOverTheOthers() throws IOException {
+        int total = 20_000;
+        IngestReport report;
+        try (ClosingProxy proxy = new ClosingProxy(server.baseUri(), 1, 20_000)) {
+            report = new BulkIngest(proxy.baseUri(), PROFILE, created).ingest(0, total);
+            assertThat(proxy.closed.get()).isEqualTo(1);
+        }
+
+        long lost = report.getLost().sum();
+        long answered = report.getStatusCounts().values().stream().mapToLong(count -> count.sum()).sum();
+        // only the requests in flight on the broken connection are lost, each counted once
+        assertThat(lost).isBetween(1L, (long) PROFILE.getPipelineDepth());
+        assertThat(answered + lost).isEqualTo(total);
+        assertThat(report.created()).isEqualTo(answered).isGreaterThanOrEqualTo(total - PROFILE.getPipelineDepth());
+        assertThat(created.size()).isEqualTo((int) report.created());
+        created.forEach(id -> assertThat(id).isBetween(0L, total - 1L));
+        assertThat(server.size()).isGreaterThanOrEqualTo((int) report.created());
+    }
+
+    @Test
+    public void ingestFailsWhenEveryConnectionBreaks() throws IOException {
+        try (ClosingProxy proxy = new ClosingProxy(server.baseUri(), PROFILE.getConnections(), 20_000)) {
+            BulkIngest ingest = new BulkIngest(proxy.baseUri(), PROFILE, created);
+
+            assertThatThrownBy(() -> ingest.ingest(0, 200_000))
+                    .hasRootCauseMessage("Every connection to the server was closed before the stream ended");
+        }
+    }
+
+    private void assertIdsTracked(long fromId, long toId) {
+        assertThat(created.size()).isEqualTo((int) (toId - fromId));
+        for (long id = fromId; id < toId; id++) {
+            assertThat(created.contains(id)).as("id %d", id).isTrue();
+        }
+    }
+
+    /**
+     * Forwards connections to the server and closes the first {@code connectionsToClose} of them
+     * once {@code responseBytes} bytes of responses went through, usually in the middle of a response.
+     */
+    private static final class ClosingProxy implements AutoCloseable {
+        private final ServerSocket listener;
+        private final int upstreamPort;
+        private final int connectionsToClose;
+        private final long responseBytes;
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+        private final ExecutorService pumps = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "closing-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ClosingProxy(String baseUri, int connectionsToClose, long responseBytes) throws IOException {
+            this.upstreamPort = URI.create(baseUri).getPort();
+            this.connectionsToClose = connectionsToClose;
+            this.responseBytes = responseBytes;
+            this.listener = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            pumps.execute(this::accept);
+        }
+
+        String baseUri() {
+            return "http://localhost:" + listener.getLocalPort();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket client = listener.accept();
+                    Socket upstream = new Socket(InetAddress.getLoopbackAddress(), upstreamPort);
+                    long limit = accepted.getAndIncrement() < connectionsToClose ? responseBytes : Long.MAX_VALUE;
+                    pumps.execute(() -> pump(client, upstream, Long.MAX_VALUE));
+                    pumps.execute(() -> pump(upstream, client, limit));
+                }
+            } catch (IOException e) {
+                // listener closed
+            }
+        }
+
+        private void pump(Socket from, Socket to, long limit) {
+            byte[] buffer = new byte[8192];
+            long forwarded = 0;
+            try (InputStream in = from.getInputStream()) {
+                OutputStream out = to.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    int count = (int) Math.min(read, limit - forwarded);
+                    out.write(buffer, 0, count);
+                    forwarded += count;
+                    if (forwarded >= limit) {
+                        closed.incrementAndGet();
+                        break;
+                    }
+                }
+            } catch (IOException ignored) {
+                // the other direction closed the sockets
+            } finally {
+                closeQuietly(from);
+                closeQuietly(to);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            listener.close();
+            pumps.shutdownNow();
+        }
+
+        private static void closeQuietly(Socket socket) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
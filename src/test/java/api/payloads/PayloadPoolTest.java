@@ -0,0 +1,81 @@
+package api.payloads;
+
+import api.models.Todo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PayloadPoolTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void patchedIdIsReadBackByJackson() throws IOException {
+        PayloadPool pool = new PayloadPool(PayloadCorpus.builder().size(16).build());
+        for (int i = 0; i < 16; i++) {
+            Payload payload = pool.acquire();
+            for (long id : new long[]{Long.MAX_VALUE, 0, 7, 123_456_789, 10, Long.MAX_VALUE - 1, 1}) {
+                Todo todo = read(payload.setId(id));
+
+                assertThat(todo.getId()).isEqualTo(id);
+                assertThat(todo.getText()).hasSize(payload.getTextLength());
+                assertThat(todo.isCompleted()).isEqualTo(payload.isCompleted());
+            }
+        }
+    }
+
+    @Test
+    public void patchingOnePayloadLeavesItsNeighboursIntact() throws IOException {
+        PayloadPool pool = new PayloadPool(PayloadCorpus.builder().size(3).build());
+        Payload first = pool.acquire().setId(1);
+        Payload second = pool.acquire().setId(2);
+        Payload third = pool.acquire().setId(3);
+
+        second.setId(Long.MAX_VALUE);
+        second.setId(42);
+
+        assertThat(read(first).getId()).isEqualTo(1);
+        assertThat(read(second).getId()).isEqualTo(42);
+        assertThat(read(third).getId()).isEqualTo(3);
+    }
+
+    @Test
+    public void corpusFollowsTheProfile() throws IOException {
+        PayloadCorpus corpus = PayloadCorpus.builder().size(200).minTextLength(3).maxTextLength(9).completedRatio(0).build();
+        PayloadPool pool = new PayloadPool(corpus);
+
+        for (int i = 0; i < corpus.getSize(); i++) {
+            Todo todo = read(pool.acquire().setId(i));
+            assertThat(todo.getText().length()).isBetween(3, 9);
+            assertThat(todo.isCompleted()).isFalse();
+        }
+    }
+
+    @Test
+    public void sameSeedGivesTheSameBodies() {
+        PayloadCorpus corpus = PayloadCorpus.builder().size(8).seed(7).build();
+        Payload first = new PayloadPool(corpus).acquire().setId(5);
+        Payload second = new PayloadPool(corpus).acquire().setId(5);
+
+        assertThat(bytes(first)).isEqualTo(bytes(second));
+    }
+
+    @Test
+    public void negativeIdIsRejected() {
+        Payload payload = new PayloadPool(PayloadCorpus.builder().size(1).build()).acquire();
+
+        assertThatThrownBy(() -> payload.setId(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Todo read(Payload payload) throws IOException {
+        return MAPPER.readValue(payload.getArray(), payload.getOffset(), payload.getLength(), Todo.class);
+    }
+
+    private static byte[] bytes(Payload payload) {
+        return Arrays.copyOfRange(payload.getArray(), payload.getOffset(), payload.getOffset() + payload.getLength());
+    }
+}
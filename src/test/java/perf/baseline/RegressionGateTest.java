@@ -0,0 +1,72 @@
+package perf.baseline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import perf.stats.LatencyHistogram;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RegressionGateTest {
+    private static final String NAME = "POST sequential";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void runWithoutBaselineIsRecordedAndPasses() {
+        RegressionGate gate = gate(false);
+
+        assertThat(gate.check(summary(100_000, 2000, 1000, 1))).isEmpty();
+        assertThat(dir.resolve("results/POST_sequential.json")).exists();
+        assertThat(dir.resolve("baseline/POST_sequential.json")).doesNotExist();
+    }
+
+    @Test
+    public void slowerRunFailsAgainstTheRecordedBaseline() {
+        gate(true).check(summary(100_000, 2000, 1000, 1));
+        RegressionGate gate = gate(false);
+
+        assertThat(gate.check(summary(100_000, 2000, 1000, 2))).isEmpty();
+        List<String> regressions = gate.check(summary(150_000, 2000, 1000, 3));
+        assertThat(regressions).hasSize(3);
+        assertThat(regressions.get(0)).startsWith("p50 ");
+        assertThatThrownBy(() -> gate.verify(summary(150_000, 2000, 1000, 4)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining(NAME + " regressed");
+    }
+
+    @Test
+    public void throughputDropFailsOnItsOwn() {
+        RegressionGate gate = gate(false);
+
+        List<String> regressions = gate.compare(summary(100_000, 2000, 1000, 1), summary(100_000, 2000, 800, 2));
+
+        assertThat(regressions).singleElement().asString().startsWith("throughput");
+    }
+
+    @Test
+    public void smallRunsAreNeverGated() {
+        RegressionGate gate = gate(false);
+
+        assertThat(gate.compare(summary(100_000, 20, 1000, 1), summary(300_000, 20, 100, 2))).isEmpty();
+    }
+
+    private RegressionGate gate(boolean update) {
+        return new RegressionGate(dir.resolve("results"), dir.resolve("baseline"), update,
+                RegressionThresholds.builder().build());
+    }
+
+    private static RunSummary summary(long baseNanos, int count, double throughput, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyHistogram times = new LatencyHistogram();
+        for (int i = 0; i < count; i++) {
+            times.record(baseNanos + random.nextLong(baseNanos / 2));
+        }
+        return RunSummary.of(NAME, times, throughput, 0);
+    }
+}
@@ -0,0 +1,88 @@
+package perf.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import perf.load.ClientTimings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyDecompositionTest {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'").withZone(ZoneOffset.UTC);
+    private static final int REQUESTS = 10;
+    private static final long SERVER_NANOS = 100_000;
+    private static final long CLIENT_NANOS = 250_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void concurrentBurstBeforeTheRunIsNotFatal() throws IOException {
+        ClientTimings timings = new ClientTimings(REQUESTS);
+        Instant start = Instant.ofEpochSecond(0, timings.getStartEpochNanos());
+        List<String> lines = new ArrayList<>();
+        // an async test that finished just before: overlapping creates, some with ids the timed run reuses
+        Instant burst = start.minusMillis(500);
+        for (long id = 0; id < 5; id++) lines.add(create(burst.plusNanos(id * 1000), id));
+        for (int i = 0; i < 5; i++) lines.add(access(burst.plusNanos(10_000 + i * 1000L), 5_000_000));
+        timedRun(lines, start.plusMillis(10), -1);
+
+        LatencyDecomposition decomposition = LatencyDecomposition.build(timings(timings), write(lines));
+
+        assertThat(decomposition.getUnmatched()).isZero();
+        assertThat(decomposition.getClient().getTotalCount()).isEqualTo(REQUESTS);
+        assertThat(decomposition.getServer().getMaxValue()).isEqualTo(SERVER_NANOS);
+        assertThat(decomposition.getOverhead().getMinValue()).isEqualTo(CLIENT_NANOS - SERVER_NANOS);
+    }
+
+    @Test
+    public void requestWithoutAccessLineIsUnmatched() throws IOException {
+        ClientTimings timings = new ClientTimings(REQUESTS);
+        List<String> lines = new ArrayList<>();
+        timedRun(lines, Instant.ofEpochSecond(0, timings.getStartEpochNanos()).plusMillis(10), 3);
+
+        LatencyDecomposition decomposition = LatencyDecomposition.build(timings(timings), write(lines));
+
+        assertThat(decomposition.getUnmatched()).isEqualTo(1);
+        assertThat(decomposition.getClient().getTotalCount()).isEqualTo(REQUESTS - 1);
+        assertThat(decomposition.getServer().getMaxValue()).isEqualTo(SERVER_NANOS);
+    }
+
+    // One create per millisecond from a single worker; the access line of skippedId is missing
+    private static void timedRun(List<String> lines, Instant from, long skippedId) {
+        for (long id = 0; id < REQUESTS; id++) {
+            Instant at = from.plusMillis(id);
+            lines.add(create(at, id));
+            if (id != skippedId) lines.add(access(at.plusNanos(SERVER_NANOS), SERVER_NANOS));
+        }
+    }
+
+    private static ClientTimings timings(ClientTimings timings) {
+        for (long id = 0; id < REQUESTS; id++) {
+            timings.record(id, CLIENT_NANOS);
+        }
+        return timings;
+    }
+
+    private Path write(List<String> lines) throws IOException {
+        return Files.write(dir.resolve("todo.log"), lines);
+    }
+
+    private static String create(Instant at, long id) {
+        return TIMESTAMP.format(at) + " DEBUG create_todo: Todo { id: " + id + ", text: \"test_" + id + "\", completed: true }";
+    }
+
+    private static String access(Instant at, long durationNanos) {
+        return TIMESTAMP.format(at) + "  INFO 172.17.0.1:43964 \"POST /todos HTTP/1.1\" 201 \"-\" "
+                + "\"Apache-HttpClient/4.5.13 (Java/17.0.2)\" " + durationNanos + "ns";
+    }
+}
@@ -0,0 +1,52 @@
+package perf.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeySpaceTest {
+    private static final KeyChooser FIRST = n -> 0;
+
+    @Test
+    public void removeMovesTheLastIdIntoTheFreedSlot() {
+        KeySpace keys = keySpace(10, 20, 30);
+
+        assertThat(keys.remove(FIRST)).isEqualTo(10);
+        assertThat(keys.reserve(FIRST)).isEqualTo(30);
+        assertThat(keys.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void removeSkipsReservedIds() {
+        KeySpace keys = keySpace(10, 20);
+        long reserved = keys.reserve(FIRST);
+
+        assertThat(keys.remove(FIRST)).isEqualTo(20);
+        assertThat(keys.remove(FIRST)).isEqualTo(KeySpace.NO_KEY);
+
+        keys.release(reserved);
+        assertThat(keys.remove(FIRST)).isEqualTo(10);
+        assertThat(keys.remove(FIRST)).isEqualTo(KeySpace.NO_KEY);
+    }
+
+    @Test
+    public void idStaysReservedUntilEveryHolderReleasesIt() {
+        KeySpace keys = keySpace(10);
+        keys.reserve(FIRST);
+        keys.reserve(FIRST);
+
+        keys.release(10);
+        assertThat(keys.remove(FIRST)).isEqualTo(KeySpace.NO_KEY);
+
+        keys.release(10);
+        assertThat(keys.remove(FIRST)).isEqualTo(10);
+    }
+
+    private static KeySpace keySpace(long... ids) {
+        KeySpace keys = new KeySpace(ids.length);
+        for (long id : ids) {
+            keys.add(id);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,61 @@
+package perf.scenario;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class ZipfianChooserTest {
+    private static final double THETA = 0.99;
+    private static final int SAMPLES = 200_000;
+    // about six standard deviations of the sampled frequencies below
+    private static final double TOLERANCE = 0.005;
+
+    @Test
+    public void indexesStayInRange() {
+        ZipfianChooser chooser = new ZipfianChooser(THETA);
+        for (int n : new int[]{1, 2, 3, 10, 1000, 7, 1}) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(chooser.next(n)).isBetween(0, n - 1);
+            }
+        }
+    }
+
+    @Test
+    public void headRanksFollowTheZipfianLaw() {
+        assertHeadFrequencies(new ZipfianChooser(THETA), 1000);
+    }
+
+    @Test
+    public void resizingGivesTheSameDistributionAsAFreshChooser() {
+        ZipfianChooser grown = new ZipfianChooser(THETA);
+        grown.next(10);
+        assertHeadFrequencies(grown, 1000);
+
+        ZipfianChooser shrunk = new ZipfianChooser(THETA);
+        shrunk.next(5000);
+        assertHeadFrequencies(shrunk, 1000);
+    }
+
+    @Test
+    public void thetaOutsideTheOpenUnitIntervalIsRejected() {
+        assertThatThrownBy(() -> new ZipfianChooser(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfianChooser(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertHeadFrequencies(ZipfianChooser chooser, int n) {
+        int[] counts = new int[n];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[chooser.next(n)]++;
+        }
+        double zeta = 0;
+        for (int i = 1; i <= n; i++) {
+            zeta += 1 / Math.pow(i, THETA);
+        }
+        assertThat((double) counts[0] / SAMPLES).isCloseTo(1 / zeta, within(TOLERANCE));
+        assertThat((double) counts[1] / SAMPLES).isCloseTo(Math.pow(0.5, THETA) / zeta, within(TOLERANCE));
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[n - 1]);
+    }
+}
@@ -0,0 +1,118 @@
+package perf.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LatencyHistogramTest {
+    private static final long HIGHEST = 1_000_000_000L;
+
+    @Test
+    public void valuesBelowTheFirstPowerOfTwoAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram(HIGHEST, 8);
+        for (long value = 1; value <= 200; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(100);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(198);
+        assertThat(histogram.getMinValue()).isEqualTo(1);
+        assertThat(histogram.getMaxValue()).isEqualTo(200);
+        assertThat(histogram.getMean()).isEqualTo(100.5);
+    }
+
+    @Test
+    public void reportedValueStaysWithinTheRelativeErrorOfItsBucket() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int significantBits : new int[]{2, 5, 8, 12}) {
+            double maxError = Math.pow(2, -(significantBits - 1));
+            for (int i = 0; i < 10_000; i++) {
+                long value = random.nextLong(1, HIGHEST);
+                LatencyHistogram histogram = new LatencyHistogram(HIGHEST, significantBits);
+                histogram.record(value);
+                histogram.record(HIGHEST);
+
+                long reported = histogram.valueAtPercentile(50);
+                assertThat(reported).isGreaterThanOrEqualTo(value);
+                assertThat((double) (reported - value) / value).isLessThan(maxError);
+            }
+        }
+    }
+
+    @Test
+    public void bucketBoundariesAreConsecutive() {
+        LatencyHistogram histogram = new LatencyHistogram(HIGHEST, 4);
+        long previous = -1;
+        for (long value = 0; value < 100_000; value++) {
+            histogram.reset();
+            histogram.record(value);
+            histogram.record(HIGHEST);
+            long reported = histogram.valueAtPercentile(50);
+            assertThat(reported).isGreaterThanOrEqualTo(previous);
+            if (reported != previous) {
+                assertThat(value).isEqualTo(previous + 1);
+                previous = reported;
+            }
+        }
+    }
+
+    @Test
+    public void recordClampsToTheTrackableRange() {
+        LatencyHistogram histogram = new LatencyHistogram(1000, 8);
+        histogram.record(-5);
+        histogram.record(5000);
+
+        assertThat(histogram.getMinValue()).isZero();
+        assertThat(histogram.getMaxValue()).isEqualTo(1000);
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(1000);
+    }
+
+    @Test
+    public void addMergesCountsAndExtremes() {
+        LatencyHistogram first = new LatencyHistogram(HIGHEST, 8);
+        LatencyHistogram second = new LatencyHistogram(HIGHEST, 8);
+        first.record(10);
+        first.record(20);
+        second.record(5);
+        second.record(1_000_000);
+
+        first.add(second);
+
+        assertThat(first.getTotalCount()).isEqualTo(4);
+        assertThat(first.getMinValue()).isEqualTo(5);
+        assertThat(first.getMaxValue()).isEqualTo(1_000_000);
+        assertThat(first.valueAtPercentile(50)).isEqualTo(10);
+        assertThatThrownBy(() -> first.add(new LatencyHistogram(HIGHEST, 6)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void byteArrayRoundTripKeepsEveryBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 5000; i++) {
+            histogram.record(random.nextLong(1, 50_000_000));
+        }
+
+        LatencyHistogram copy = LatencyHistogram.fromByteArray(histogram.toByteArray());
+
+        assertThat(copy.counts).isEqualTo(histogram.counts);
+        assertThat(copy.getTotalCount()).isEqualTo(histogram.getTotalCount());
+        assertThat(copy.getMinValue()).isEqualTo(histogram.getMinValue());
+        assertThat(copy.getMaxValue()).isEqualTo(histogram.getMaxValue());
+        assertThat(copy.getMean()).isEqualTo(histogram.getMean());
+    }
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getMinValue()).isZero();
+        assertThat(histogram.getMaxValue()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.valueAtPercentile(99)).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package perf.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class MannWhitneyTest {
+    private static final long HIGHEST = 1_000_000_000L;
+
+    @Test
+    public void normalCdfMatchesTabulatedValues() {
+        assertThat(MannWhitney.normalCdf(0)).isCloseTo(0.5, within(1e-7));
+        assertThat(MannWhitney.normalCdf(1)).isCloseTo(0.8413447, within(1e-6));
+        assertThat(MannWhitney.normalCdf(-1)).isCloseTo(0.1586553, within(1e-6));
+        assertThat(MannWhitney.normalCdf(1.959964)).isCloseTo(0.975, within(1e-6));
+        assertThat(MannWhitney.normalCdf(-3.090232)).isCloseTo(0.001, within(1e-6));
+    }
+
+    @Test
+    public void uCountsPairsWhereCurrentIsSlowerAndHalfTheTies() {
+        SplittableRandom random = new SplittableRandom(3);
+        long[] baseline = new long[300];
+        long[] current = new long[200];
+        // small values land in exact buckets, so the histogram test sees the same ties as the samples
+        for (int i = 0; i < baseline.length; i++) baseline[i] = random.nextLong(0, 60);
+        for (int i = 0; i < current.length; i++) current[i] = random.nextLong(10, 70);
+
+        double pairs = 0;
+        for (long before : baseline) {
+            for (long after : current) {
+                if (after > before) pairs += 1;
+                else if (after == before) pairs += 0.5;
+            }
+        }
+
+        MannWhitney.Result result = MannWhitney.test(histogram(baseline), histogram(current));
+        assertThat(result.getU()).isEqualTo(pairs);
+        assertThat(result.getProbabilityOfSuperiority()).isCloseTo(pairs / (baseline.length * current.length), within(1e-12));
+    }
+
+    @Test
+    public void separatedSamplesGiveTheTextbookZ() {
+        // n1 = n2 = 5 without ties: U = 25, mean 12.5, variance 25 * 11 / 12, continuity-corrected z = 2.5067
+        MannWhitney.Result result = MannWhitney.test(histogram(1, 2, 3, 4, 5), histogram(6, 7, 8, 9, 10));
+
+        assertThat(result.getU()).isEqualTo(25);
+        assertThat(result.getZ()).isCloseTo(12 / Math.sqrt(25 * 11 / 12.0), within(1e-9));
+        assertThat(result.getPValue()).isCloseTo(0.00609, within(1e-5));
+        assertThat(result.getProbabilityOfSuperiority()).isEqualTo(1);
+    }
+
+    @Test
+    public void shiftDirectionDecidesTheOneSidedPValue() {
+        SplittableRandom random = new SplittableRandom(11);
+        LatencyHistogram fast = new LatencyHistogram(HIGHEST, 8);
+        LatencyHistogram slow = new LatencyHistogram(HIGHEST, 8);
+        LatencyHistogram fastAgain = new LatencyHistogram(HIGHEST, 8);
+        for (int i = 0; i < 2000; i++) {
+            fast.record(100_000 + random.nextLong(50_000));
+            fastAgain.record(100_000 + random.nextLong(50_000));
+            slow.record(110_000 + random.nextLong(50_000));
+        }
+
+        assertThat(MannWhitney.test(fast, slow).getPValue()).isLessThan(0.001);
+        assertThat(MannWhitney.test(slow, fast).getPValue()).isGreaterThan(0.999);
+        assertThat(MannWhitney.test(fast, fastAgain).getPValue()).isBetween(0.001, 0.999);
+        assertThat(MannWhitney.test(fast, fast).getProbabilityOfSuperiority()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void emptyOrAllTiedSamplesNeverLookSlower() {
+        assertThat(MannWhitney.test(histogram(), histogram(1, 2, 3)).getPValue()).isEqualTo(1);
+        assertThat(MannWhitney.test(histogram(7, 7, 7), histogram(7, 7)).getPValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void differentLayoutsAreRejected() {
+        assertThatThrownBy(() -> MannWhitney.test(new LatencyHistogram(HIGHEST, 8), new LatencyHistogram(HIGHEST, 6)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LatencyHistogram histogram(long... values) {
+        LatencyHistogram histogram = new LatencyHistogram(HIGHEST, 8);
+        for (long value : values) {
+            histogram.record(value);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,107 @@
+package utils.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLongSetTest {
+
+    @Test
+    public void matchesHashSetUnderRandomAddsAndRemoves() {
+        for (int stripes : new int[]{1, 4, 64}) {
+            ConcurrentLongSet set = new ConcurrentLongSet(stripes, 16);
+            Set<Long> expected = new HashSet<>();
+            SplittableRandom random = new SplittableRandom(stripes);
+            for (int i = 0; i < 200_000; i++) {
+                // a small key range keeps probe chains long and removals frequent
+                long value = random.nextLong(-50, 2000);
+                if (random.nextInt(3) == 0) {
+                    assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+                } else {
+                    assertThat(set.add(value)).isEqualTo(expected.add(value));
+                }
+            }
+            for (long value = -50; value < 2000; value++) {
+                assertThat(set.contains(value)).as("contains %d", value).isEqualTo(expected.contains(value));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+            assertThat(boxed(set.toArray())).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void removeKeepsCollidingKeysReachable() {
+        ConcurrentLongSet set = new ConcurrentLongSet(1, 4);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 1024L;
+            set.add(values[i]);
+        }
+
+        for (int i = 0; i < values.length; i += 2) {
+            assertThat(set.remove(values[i])).isTrue();
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(set.contains(values[i])).isEqualTo(i % 2 == 1);
+        }
+        assertThat(set.size()).isEqualTo(values.length / 2);
+    }
+
+    @Test
+    public void zeroIsAnOrdinaryValue() {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.toArray()).containsExactly(0);
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void concurrentAddsAreAllKept() throws Exception {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * perThread;
+                futures[t] = executor.submit(() -> {
+                    for (long value = first; value < first + perThread; value++) {
+                        set.add(value);
+                        if (value % 2 == 0) set.remove(value);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertThat(values).hasSize(threads * perThread / 2);
+        for (int i = 0; i < values.length; i++) {
+            assertThat(values[i]).isEqualTo(2L * i + 1);
+        }
+    }
+
+    private static Set<Long> boxed(long[] values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toSet());
+    }
+}
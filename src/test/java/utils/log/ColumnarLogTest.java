@@ -0,0 +1,179 @@
+package utils.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import perf.stats.LatencyHistogram;
+import utils.LogLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarLogTest {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'").withZone(ZoneOffset.UTC);
+    private static final String[] DURATIONS = {"870ns", "405.564µs", "2.694713ms", "1.5s", "5.25s"};
+    private static final HttpMethod[] METHODS = {HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE};
+    private static final int[] STATUSES = {200, 201, 204, 400, 401, 404};
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"todo.log", "todo_1000.log"})
+    public void bundledLogsSurviveTheRoundTrip(String name) {
+        Path log = LogLoader.resourcePath(name);
+        Path target = dir.resolve(name + ColumnarLog.EXTENSION);
+        ColumnarLog.export(log, target);
+        ColumnarLog columns = ColumnarLog.open(target);
+
+        assertThat(read(columns)).isEqualTo(readText(log));
+        assertStatsMatch(columns.stats(), ParallelLogAnalyzer.analyze(log));
+    }
+
+    @Test
+    public void multiBlockLogSurvivesTheRoundTrip() throws IOException {
+        Path log = writeLog(dir.resolve("big.log"), ColumnarLog.BLOCK_SIZE * 2 + 1234);
+        ColumnarLog columns = ColumnarLog.open(export(log));
+
+        List<Row> expected = readText(log);
+        assertThat(columns.size()).isEqualTo(expected.size());
+        assertThat(columns.getMalformedLines()).isEqualTo(ParallelLogAnalyzer.analyze(log).getMalformedLines());
+        assertThat(read(columns)).isEqualTo(expected);
+        for (HttpMethod method : METHODS) {
+            assertHistogramsMatch(columns.histogram(method), columns.stats().histogram(method));
+        }
+    }
+
+    @Test
+    public void durationsSaturateAtTheCap() throws IOException {
+        Path log = writeLog(dir.resolve("slow.log"), 1000);
+        ColumnarLog columns = ColumnarLog.open(export(log));
+        LogStats text = ParallelLogAnalyzer.analyze(log);
+        LogStats stored = columns.stats();
+
+        assertThat(text.getAccessLines()).isEqualTo(stored.getAccessLines());
+        for (HttpMethod method : METHODS) {
+            assertThat(text.histogram(method).getMaxValue()).isEqualTo(5_250_000_000L);
+            assertThat(stored.histogram(method).getMaxValue()).isEqualTo(ColumnarLog.MAX_DURATION_NANOS);
+            assertThat(stored.histogram(method).getTotalCount()).isEqualTo(text.histogram(method).getTotalCount());
+        }
+    }
+
+    @Test
+    public void timeRangeReturnsTheSameRecordsAsAFullScan() throws IOException {
+        Path log = writeLog(dir.resolve("range.log"), ColumnarLog.BLOCK_SIZE * 3);
+        ColumnarLog columns = ColumnarLog.open(export(log));
+        List<Row> all = read(columns);
+        long from = all.get(all.size() / 3).timestampNanos;
+        long to = all.get(all.size() / 2).timestampNanos;
+
+        List<Row> expected = new ArrayList<>();
+        for (Row row : all) {
+            if (row.timestampNanos >= from && row.timestampNanos < to) expected.add(row);
+        }
+        List<Row> actual = new ArrayList<>();
+        columns.forEach(from, to, (timestamp, method, status, duration) ->
+                actual.add(new Row(timestamp, method, status, duration)));
+
+        assertThat(actual).isNotEmpty().isEqualTo(expected);
+    }
+
+    @Test
+    public void openOrExportReplacesAStaleCacheWithoutBreakingOpenReaders() throws IOException {
+        Path log = writeLog(dir.resolve("cached.log"), 5000);
+        ColumnarLog first = ColumnarLog.openOrExport(log);
+        assertThat(dir.resolve("cached.log" + ColumnarLog.EXTENSION)).exists();
+        assertThat(first.isCurrent(log)).isTrue();
+        List<Row> before = read(first);
+
+        writeLog(log, 7000);
+        Files.setLastModifiedTime(log, FileTime.from(Instant.now().plusSeconds(60)));
+        assertThat(first.isCurrent(log)).isFalse();
+        ColumnarLog second = ColumnarLog.openOrExport(log);
+
+        assertThat(second.isCurrent(log)).isTrue();
+        assertThat(read(second)).isEqualTo(readText(log));
+        assertThat(read(first)).isEqualTo(before);
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder(
+                    "cached.log", "cached.log" + ColumnarLog.EXTENSION);
+        }
+    }
+
+    private Path export(Path log) {
+        Path target = dir.resolve(log.getFileName() + ColumnarLog.EXTENSION);
+        ColumnarLog.export(log, target);
+        return target;
+    }
+
+    // Every line shape the exporter sees: access lines with all duration units, timestamps that step back,
+    // create_todo debug lines and malformed lines
+    private static Path writeLog(Path file, int accessLines) throws IOException {
+        SplittableRandom random = new SplittableRandom(accessLines);
+        Instant time = Instant.parse("2025-06-10T09:37:09Z");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < accessLines; i++) {
+                time = time.plusNanos(random.nextLong(-20_000, 500_000) * 1000);
+                HttpMethod method = METHODS[random.nextInt(METHODS.length)];
+                writer.write(TIMESTAMP.format(time) + "  INFO 172.17.0.1:" + (30000 + random.nextInt(30000))
+                        + " \"" + method + " /todos HTTP/1.1\" " + STATUSES[random.nextInt(STATUSES.length)]
+                        + " \"-\" \"Apache-HttpClient/4.5.13 (Java/17.0.2)\" " + DURATIONS[i % DURATIONS.length] + "\n");
+                if (i % 100 == 0) {
+                    writer.write(TIMESTAMP.format(time) + " DEBUG create_todo: Todo { id: " + i
+                            + ", text: \"test_" + i + "\", completed: true }\n");
+                }
+                if (i % 997 == 0) writer.write("not a log line\n");
+            }
+        }
+        return file;
+    }
+
+    private static List<Row> read(ColumnarLog columns) {
+        List<Row> rows = new ArrayList<>();
+        columns.forEach((timestamp, method, status, duration) -> rows.add(new Row(timestamp, method, status, duration)));
+        return rows;
+    }
+
+    private static List<Row> readText(Path log) {
+        List<Row> rows = new ArrayList<>();
+        AccessLogReader.forEachLine(log, (type, record) -> {
+            if (type == AccessLogParser.LineType.ACCESS) {
+                rows.add(new Row(record.timestampNanos, record.method, record.status,
+                        Math.min(record.durationNanos, ColumnarLog.MAX_DURATION_NANOS)));
+            }
+        });
+        return rows;
+    }
+
+    private static void assertStatsMatch(LogStats actual, LogStats expected) {
+        assertThat(actual.getAccessLines()).isEqualTo(expected.getAccessLines());
+        assertThat(actual.getMalformedLines()).isEqualTo(expected.getMalformedLines());
+        for (int status = 100; status < 600; status++) {
+            assertThat(actual.statusCount(status)).as("status %d", status).isEqualTo(expected.statusCount(status));
+        }
+        for (HttpMethod method : HttpMethod.values()) {
+            assertHistogramsMatch(actual.histogram(method), expected.histogram(method));
+        }
+    }
+
+    private static void assertHistogramsMatch(LatencyHistogram actual, LatencyHistogram expected) {
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    private record Row(long timestampNanos, HttpMethod method, int status, long durationNanos) {
+    }
+}
@@ -0,0 +1,120 @@
+package utils.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.LogLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CreateRequestCorrelatorTest {
+    private static final long MAX_GAP_NANOS = 1_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void handlerLineIsPairedWithTheNextPost() throws IOException {
+        List<Row> rows = correlate(4,
+                create("09:37:09.100000", 0),
+                access("09:37:09.100050", "POST /todos", 201),
+                access("09:37:09.200000", "GET /todos", 200),
+                create("09:37:09.300000", 1),
+                access("09:37:09.300070", "POST /todos", 201));
+
+        assertThat(rows).containsExactly(
+                new Row(CreateRequest.Kind.MATCHED, 0, 201, 50_000),
+                new Row(CreateRequest.Kind.MATCHED, 1, 201, 70_000));
+    }
+
+    @Test
+    public void postWithoutHandlerLineIsUnmatched() throws IOException {
+        List<Row> rows = correlate(4,
+                access("09:37:09.100000", "POST /todos", 400),
+                access("09:37:09.200000", "POST /todos/5", 404));
+
+        assertThat(rows).containsExactly(new Row(CreateRequest.Kind.UNMATCHED, -1, 400, 0));
+    }
+
+    @Test
+    public void handlerLineWaitingLongerThanTheGapIsOrphaned() throws IOException {
+        List<Row> rows = correlate(4,
+                create("09:37:09.100000", 0),
+                access("09:37:11.100000", "POST /todos", 201));
+
+        assertThat(rows).containsExactly(
+                new Row(CreateRequest.Kind.ORPHANED, 0, 0, 0),
+                new Row(CreateRequest.Kind.UNMATCHED, -1, 201, 0));
+    }
+
+    @Test
+    public void oldestHandlerLineIsOrphanedWhenTheBufferOverflows() throws IOException {
+        List<Row> rows = correlate(2,
+                create("09:37:09.100000", 0),
+                create("09:37:09.100010", 1),
+                create("09:37:09.100020", 2));
+
+        assertThat(rows).containsExactly(
+                new Row(CreateRequest.Kind.ORPHANED, 0, 0, 0),
+                new Row(CreateRequest.Kind.ORPHANED, 1, 0, 0),
+                new Row(CreateRequest.Kind.ORPHANED, 2, 0, 0));
+    }
+
+    @Test
+    public void handlerThatNeverCompletedIsOrphanedByTheNextCreate() throws IOException {
+        List<Row> rows = correlate(4,
+                create("09:37:09.100000", 0),
+                create("09:37:09.200000", 1),
+                access("09:37:09.200040", "POST /todos", 201),
+                create("09:37:09.300000", 2),
+                access("09:37:09.300040", "POST /todos", 201));
+
+        assertThat(rows).containsExactly(
+                new Row(CreateRequest.Kind.ORPHANED, 0, 0, 0),
+                new Row(CreateRequest.Kind.MATCHED, 1, 201, 40_000),
+                new Row(CreateRequest.Kind.MATCHED, 2, 201, 40_000));
+    }
+
+    @Test
+    public void bundledLogWithAMissingAccessLineReportsOneOrphan() throws IOException {
+        List<String> lines = Files.readAllLines(LogLoader.resourcePath("todo.log"));
+        int created = (int) lines.stream().filter(line -> line.contains("create_todo")).count();
+        int handler = 0;
+        while (!lines.get(handler).contains("id: 2,")) handler++;
+        assertThat(lines.remove(handler + 1)).contains("POST /todos");
+
+        List<Row> rows = correlate(4096, lines.toArray(new String[0]));
+
+        assertThat(rows.stream().filter(row -> row.kind == CreateRequest.Kind.ORPHANED))
+                .containsExactly(new Row(CreateRequest.Kind.ORPHANED, 2, 0, 0));
+        assertThat(rows.stream().filter(row -> row.kind == CreateRequest.Kind.MATCHED)).hasSize(created - 1);
+    }
+
+    private List<Row> correlate(int maxPending, String... lines) throws IOException {
+        Path log = dir.resolve("todo.log");
+        Files.writeString(log, String.join("\n", lines) + "\n");
+        List<Row> rows = new ArrayList<>();
+        CreateRequestCorrelator correlator = new CreateRequestCorrelator(maxPending, MAX_GAP_NANOS, request ->
+                rows.add(new Row(request.getKind(), request.getTodoId(), request.getStatus(), request.getGapNanos())));
+        AccessLogReader.forEachLine(log, correlator::accept);
+        correlator.finish();
+        return rows;
+    }
+
+    private static String create(String time, long id) {
+        return "2025-06-10T" + time + "Z DEBUG create_todo: Todo { id: " + id + ", text: \"test_" + id + "\", completed: true }";
+    }
+
+    private static String access(String time, String request, int status) {
+        return "2025-06-10T" + time + "Z  INFO 172.17.0.1:43964 \"" + request + " HTTP/1.1\" " + status
+                + " \"-\" \"Apache-HttpClient/4.5.13 (Java/17.0.2)\" 20.5µs";
+    }
+
+    private record Row(CreateRequest.Kind kind, long todoId, int status, long gapNanos) {
+    }
+}
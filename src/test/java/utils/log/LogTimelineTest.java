@@ -0,0 +1,114 @@
+package utils.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.LogLoader;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LogTimelineTest {
+    private static final long SECOND = 1_000_000_000L;
+    // 2025-06-10T09:37:00Z, a multiple of every window used below
+    private static final long MINUTE = 1_749_548_220L * SECOND;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void windowsAreAlignedToTheEpoch() {
+        List<Row> windows = new ArrayList<>();
+        LogTimeline timeline = new LogTimeline(Duration.ofSeconds(10), collect(windows));
+        timeline.record(MINUTE + 13 * SECOND, 200, 1000);
+        timeline.record(MINUTE + 19 * SECOND + 999_999_999, 201, 2000);
+        timeline.record(MINUTE + 20 * SECOND, 404, 3000);
+        timeline.finish();
+
+        assertThat(windows).containsExactly(
+                new Row(MINUTE + 10 * SECOND, MINUTE + 20 * SECOND, 2, 1, 1, 0, 2000),
+                new Row(MINUTE + 20 * SECOND, MINUTE + 30 * SECOND, 1, 0, 0, 1, 3000));
+    }
+
+    @Test
+    public void gapIsReportedAsOneEmptyWindow() {
+        List<Row> windows = new ArrayList<>();
+        LogTimeline timeline = new LogTimeline(Duration.ofSeconds(1), collect(windows));
+        timeline.record(MINUTE + SECOND / 2, 200, 1000);
+        timeline.record(MINUTE + 3 * SECOND + SECOND / 2, 200, 1000);
+        timeline.record(MINUTE + 4 * SECOND, 200, 1000);
+        timeline.finish();
+
+        assertThat(windows).containsExactly(
+                new Row(MINUTE, MINUTE + SECOND, 1, 1, 0, 0, 1000),
+                new Row(MINUTE + SECOND, MINUTE + 3 * SECOND, 0, 0, 0, 0, 0),
+                new Row(MINUTE + 3 * SECOND, MINUTE + 4 * SECOND, 1, 1, 0, 0, 1000),
+                new Row(MINUTE + 4 * SECOND, MINUTE + 5 * SECOND, 1, 1, 0, 0, 1000));
+    }
+
+    @Test
+    public void lateRecordIsCountedInTheOpenWindow() {
+        List<Row> windows = new ArrayList<>();
+        LogTimeline timeline = new LogTimeline(Duration.ofSeconds(1), collect(windows));
+        timeline.record(MINUTE + SECOND / 2, 200, 1000);
+        timeline.record(MINUTE + SECOND + SECOND / 5, 200, 1000);
+        timeline.record(MINUTE + SECOND - 1, 404, 5000);
+        timeline.finish();
+
+        assertThat(windows).containsExactly(
+                new Row(MINUTE, MINUTE + SECOND, 1, 1, 0, 0, 1000),
+                new Row(MINUTE + SECOND, MINUTE + 2 * SECOND, 2, 1, 0, 1, 5000));
+    }
+
+    @Test
+    public void rateIsPerSecondOfWindow() {
+        List<Double> rates = new ArrayList<>();
+        LogTimeline timeline = new LogTimeline(Duration.ofMillis(250), window -> rates.add(window.rate()));
+        for (int i = 0; i < 5; i++) {
+            timeline.record(MINUTE + i, 200, 1000);
+        }
+        timeline.finish();
+
+        assertThat(rates).containsExactly(20.0);
+    }
+
+    @Test
+    public void nothingIsEmittedWithoutRecords() {
+        List<Row> windows = new ArrayList<>();
+        new LogTimeline(Duration.ofSeconds(1), collect(windows)).finish();
+
+        assertThat(windows).isEmpty();
+        assertThatThrownBy(() -> new LogTimeline(Duration.ZERO, collect(windows)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void textAndColumnarLogsGiveTheSameWindows() {
+        Path log = LogLoader.resourcePath("todo_1000.log");
+        Path columns = dir.resolve("todo_1000.log" + ColumnarLog.EXTENSION);
+        ColumnarLog.export(log, columns);
+
+        List<Row> fromText = new ArrayList<>();
+        List<Row> fromColumns = new ArrayList<>();
+        LogTimeline.analyze(log, Duration.ofMillis(100), collect(fromText));
+        LogTimeline.analyze(ColumnarLog.open(columns), Duration.ofMillis(100), collect(fromColumns));
+
+        assertThat(fromText).hasSizeGreaterThan(1);
+        assertThat(fromColumns).isEqualTo(fromText);
+        assertThat(fromText.stream().mapToLong(Row::count).sum()).isEqualTo(ParallelLogAnalyzer.analyze(log).getAccessLines());
+    }
+
+    // Windows are reused, so the handler keeps a copy of what the assertions need
+    private static LogTimeline.WindowHandler collect(List<Row> windows) {
+        return window -> windows.add(new Row(window.getStartNanos(), window.getEndNanos(), window.getCount(),
+                window.statusCount(200), window.statusCount(201), window.statusCount(404),
+                window.getLatency().getMaxValue()));
+    }
+
+    private record Row(long startNanos, long endNanos, long count, long ok, long created, long notFound, long maxNanos) {
+    }
+}
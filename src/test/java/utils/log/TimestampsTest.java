@@ -0,0 +1,86 @@
+package utils.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimestampsTest {
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final long FIRST_SECOND = Instant.parse("1900-01-01T00:00:00Z").getEpochSecond();
+    private static final long LAST_SECOND = Instant.parse("2200-01-01T00:00:00Z").getEpochSecond();
+
+    @Test
+    public void matchesInstantParseOnRandomTimestamps() {
+        SplittableRandom random = new SplittableRandom(1);
+        Timestamps.MinuteCache cache = new Timestamps.MinuteCache();
+        long second = 0;
+        for (int i = 0; i < 200_000; i++) {
+            // every other timestamp stays in the same minute, so the cache is hit as well as refreshed
+            second = i % 2 == 1 ? second - second % 60 + random.nextInt(60) : random.nextLong(FIRST_SECOND, LAST_SECOND);
+            String text = format(second, random.nextInt(1_000_000_000), random.nextInt(10));
+            long expectedNanos = epochNanos(text);
+
+            ByteBuffer buffer = buffer("  " + text + " INFO");
+            int end = 2 + text.length();
+            assertThat(Timestamps.parseEpochNanos(buffer, 2, end)).as(text).isEqualTo(expectedNanos);
+            assertThat(Timestamps.parseEpochNanos(buffer, 2, end, cache)).as(text).isEqualTo(expectedNanos);
+        }
+    }
+
+    @Test
+    public void extraFractionDigitsAreTruncated() {
+        ByteBuffer buffer = buffer("2025-06-10T09:37:09.1234567891Z");
+
+        assertThat(Timestamps.parseEpochNanos(buffer, 0, buffer.limit()))
+                .isEqualTo(epochNanos("2025-06-10T09:37:09.123456789Z"));
+    }
+
+    @Test
+    public void malformedTimestampsAreInvalid() {
+        Timestamps.MinuteCache cache = new Timestamps.MinuteCache();
+        String valid = "2025-06-10T09:37:09.515241Z";
+        for (String text : new String[]{"2025-06-10T09:37:09", "2025-06-10 09:37:09.515241Z", "2025-06-10T09:37:09.515241",
+                "2025-06-10T09:3x:09.515241Z", "2025-06-10T09:37-09.515241Z", "2025/06/10T09:37:09.515241Z",
+                "2025-06-10T09:37:09.515241 ", "not a timestamp at all"}) {
+            ByteBuffer buffer = buffer(text);
+            assertThat(Timestamps.parseEpochNanos(buffer, 0, buffer.limit())).as(text).isEqualTo(Timestamps.INVALID);
+            assertThat(Timestamps.parseEpochNanos(buffer, 0, buffer.limit(), cache)).as(text).isEqualTo(Timestamps.INVALID);
+
+            ByteBuffer good = buffer(valid);
+            assertThat(Timestamps.parseEpochNanos(good, 0, good.limit(), cache))
+                    .isEqualTo(Timestamps.parseEpochNanos(good, 0, good.limit()));
+        }
+    }
+
+    @Test
+    public void epochDayMatchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1600, 1, 1); date.getYear() < 2400; date = date.plusDays(1)) {
+            assertThat(Timestamps.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                    .as(date.toString()).isEqualTo(date.toEpochDay());
+        }
+    }
+
+    private static long epochNanos(String text) {
+        Instant instant = Instant.parse(text);
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static String format(long epochSecond, int nanos, int fractionDigits) {
+        String text = SECONDS.format(Instant.ofEpochSecond(epochSecond));
+        if (fractionDigits == 0) return text + "Z";
+        return text + "." + String.format("%09d", nanos).substring(0, fractionDigits) + "Z";
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}